@@ -11,8 +11,12 @@ import kr.toxicity.model.api.config.IndicatorConfig;
 import kr.toxicity.model.api.config.ModuleConfig;
 import kr.toxicity.model.api.mount.MountController;
 import kr.toxicity.model.api.config.PackConfig;
+import kr.toxicity.model.api.tracker.TrackerClock;
 import org.bukkit.Material;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Set;
 
 /**
  * BetterModel's config
@@ -140,6 +144,30 @@ public interface BetterModelConfig {
      */
     int lerpFrameTime();
 
+    /**
+     * Gets keyframe reduction epsilon
+     * @return keyframe reduction epsilon (0 = disabled)
+     */
+    float keyframeReductionEpsilon();
+
+    /**
+     * Gets the max number of baked animations kept in memory
+     * @return animation cache size (0 = unlimited)
+     */
+    int animationCacheSize();
+
+    /**
+     * Gets animations baked on reload. Each entry is a model name, 'model:animation' or '*'.
+     * @return animation warm-up list
+     */
+    @NotNull @Unmodifiable Set<String> animationWarmUp();
+
+    /**
+     * Gets the max number of composed bone frames shared by trackers, per bone of each model
+     * @return frame cache size (0 = disabled)
+     */
+    int frameCacheSize();
+
     /**
      * Whether any swap inventory packet should be canceled if the player has some model
      * @return cancel
@@ -158,6 +186,61 @@ public interface BetterModelConfig {
      */
     int packetBundlingSize();
 
+    /**
+     * Whether tracker bundles should be encoded once and written to every viewer
+     * Encoded bundles bypass other plugins' packet listeners.
+     * @return packet fan-out
+     */
+    boolean packetFanOut();
+
+    /**
+     * Whether entity data updates should be merged while a player's channel is not writable
+     * @return packet coalescing
+     */
+    boolean packetCoalescing();
+
+    /**
+     * Whether tracker packets should be aggregated per player and flushed once per tracker frame
+     * @return packet aggregation
+     */
+    boolean packetAggregation();
+
+    /**
+     * Gets the max number of displays spawned to each player per tick (0 = unlimited)
+     * @return spawn budget
+     */
+    int spawnBudget();
+
+    /**
+     * Gets the max number of displays visible to each player at once (0 = unlimited)
+     * @return visible model budget
+     */
+    int visibleModelBudget();
+
+    /**
+     * Whether models hidden behind blocks should be culled from animation packets
+     * @return occlusion culling
+     */
+    boolean occlusionCulling();
+
+    /**
+     * Whether hit-boxes which can't be mounted should use packet-only interaction entities instead of spawned entities
+     * @return virtual hit-box
+     */
+    boolean virtualHitBox();
+
+    /**
+     * Gets tracker worker count
+     * @return tracker worker count
+     */
+    int trackerWorkerCount();
+
+    /**
+     * Gets tracker shard strategy
+     * @return tracker shard strategy
+     */
+    @NotNull TrackerClock.ShardStrategy trackerShardStrategy();
+
     /**
      * Pack type
      */
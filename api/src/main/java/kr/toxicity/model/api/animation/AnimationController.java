@@ -0,0 +1,107 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.animation;
+
+import kr.toxicity.model.api.util.function.FloatConstantSupplier;
+import kr.toxicity.model.api.util.function.FloatSupplier;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Animation controller of a pipeline.
+ * <p>
+ * Every bone of a pipeline shares the same animation modifier, so its predicate and speed are resolved once per frame
+ * and reused by all bones instead of being evaluated by each bone.
+ */
+@ApiStatus.Internal
+public final class AnimationController {
+
+    private volatile long frame;
+
+    /**
+     * Moves to the next frame
+     */
+    public void nextFrame() {
+        frame++;
+    }
+
+    /**
+     * Binds modifier to this controller
+     * @param modifier modifier
+     * @return bound modifier
+     */
+    public @NotNull AnimationModifier bind(@NotNull AnimationModifier modifier) {
+        var predicate = bind(modifier.predicate());
+        var speed = bind(modifier.speed());
+        if (predicate == modifier.predicate() && speed == modifier.speed()) return modifier;
+        return new AnimationModifier(
+                predicate,
+                modifier.start(),
+                modifier.end(),
+                modifier.type(),
+                speed,
+                modifier.override(),
+                modifier.player()
+        );
+    }
+
+    private @Nullable BooleanSupplier bind(@Nullable BooleanSupplier predicate) {
+        if (predicate == null || (predicate instanceof FramePredicate framePredicate && framePredicate.controller() == this)) return predicate;
+        return new FramePredicate(predicate);
+    }
+
+    private @Nullable FloatSupplier bind(@Nullable FloatSupplier speed) {
+        if (speed == null || speed instanceof FloatConstantSupplier || (speed instanceof FrameSpeed frameSpeed && frameSpeed.controller() == this)) return speed;
+        return new FrameSpeed(speed);
+    }
+
+    @RequiredArgsConstructor
+    private final class FramePredicate implements BooleanSupplier {
+        private final BooleanSupplier delegate;
+        private boolean value;
+        private volatile long lastFrame = -1;
+
+        private @NotNull AnimationController controller() {
+            return AnimationController.this;
+        }
+
+        @Override
+        public boolean getAsBoolean() {
+            var current = frame;
+            if (lastFrame != current) {
+                value = delegate.getAsBoolean();
+                lastFrame = current;
+            }
+            return value;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private final class FrameSpeed implements FloatSupplier {
+        private final FloatSupplier delegate;
+        private float value;
+        private volatile long lastFrame = -1;
+
+        private @NotNull AnimationController controller() {
+            return AnimationController.this;
+        }
+
+        @Override
+        public float getAsFloat() {
+            var current = frame;
+            if (lastFrame != current) {
+                value = delegate.getAsFloat();
+                lastFrame = current;
+            }
+            return value;
+        }
+    }
+}
@@ -14,10 +14,8 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collection;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.SequencedMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 import java.util.function.BooleanSupplier;
@@ -33,12 +31,14 @@ public final class AnimationStateHandler<T extends Timed> {
     private final T initialValue;
     private final BiConsumer<T, T> setConsumer;
 
-    private final SequencedMap<String, TreeIterator> animators = new LinkedHashMap<>();
-    private final Collection<TreeIterator> reversedView = animators.sequencedValues().reversed();
+    private final Object animatorLock = new Object();
+    private volatile List<TreeIterator> animators = List.of();
     private final AtomicBoolean forceUpdateAnimation = new AtomicBoolean();
 
     @Getter
     private int delay;
+    @Getter
+    private int tickDelta = 1;
     private volatile TreeIterator currentIterator = null;
     private volatile KeyframeData beforeKeyframe = null, afterKeyframe = null;
 
@@ -89,12 +89,28 @@ public final class AnimationStateHandler<T extends Timed> {
      * @return keyframe has been shifted or not
      */
     public boolean tick(@NotNull Runnable ifEmpty) {
-        delay--;
+        return tick(1, ifEmpty);
+    }
+
+    /**
+     * Ticks this state handler
+     * @param delta elapsed tracker frames since the last tick
+     * @param ifEmpty callback if animator is empty
+     * @return keyframe has been shifted or not
+     */
+    public boolean tick(int delta, @NotNull Runnable ifEmpty) {
+        var previous = delay;
+        tickDelta = Math.max(delta, 1);
+        delay -= tickDelta;
         if (animators.isEmpty()) {
             ifEmpty.run();
             return false;
         }
-        return shouldUpdateAnimation() && updateAnimation();
+        if (!shouldUpdateAnimation(previous) || !updateAnimation()) return false;
+        for (int i = 1; i < tickDelta && afterKeyframe != null && keyframeFinished(); i++) {
+            if (!updateAnimation()) break;
+        }
+        return true;
     }
 
     /**
@@ -106,56 +122,74 @@ public final class AnimationStateHandler<T extends Timed> {
         return frame == 0 ? 0 : (float) delay / frame;
     }
 
-    private boolean shouldUpdateAnimation() {
-        return forceUpdateAnimation.compareAndSet(true, false) || (afterKeyframe != null && keyframeFinished()) || delay % Tracker.MINECRAFT_TICK_MULTIPLIER == 0;
+    private boolean shouldUpdateAnimation(int previous) {
+        return forceUpdateAnimation.compareAndSet(true, false)
+                || (afterKeyframe != null && keyframeFinished())
+                || Math.floorDiv(previous - 1, Tracker.MINECRAFT_TICK_MULTIPLIER) != Math.floorDiv(delay - 1, Tracker.MINECRAFT_TICK_MULTIPLIER);
     }
 
     private boolean updateAnimation() {
-        synchronized (animators) {
-            var iterator = reversedView.iterator();
-            while (iterator.hasNext()) {
-                var next = iterator.next();
-                if (!next.getAsBoolean()) continue;
-                if (currentIterator == null) {
-                    if (updateKeyframe(iterator, next)) {
-                        currentIterator = next;
-                        return setAfterKeyframe(next.next());
-                    }
-                } else if (currentIterator != next) {
-                    if (updateKeyframe(iterator, next)) {
-                        currentIterator.clear();
-                        currentIterator = next;
-                        return setAfterKeyframe(next.next());
-                    }
-                } else if (keyframeFinished()) {
-                    if (updateKeyframe(iterator, next)) {
-                        return setAfterKeyframe(next.next());
-                    }
-                } else {
-                    return false;
+        var layers = animators;
+        for (int i = layers.size() - 1; i >= 0; i--) {
+            var next = layers.get(i);
+            if (!next.getAsBoolean()) continue;
+            if (currentIterator == null) {
+                if (updateKeyframe(next)) {
+                    currentIterator = next;
+                    return setAfterKeyframe(next.next());
+                }
+            } else if (currentIterator != next) {
+                if (updateKeyframe(next)) {
+                    currentIterator.clear();
+                    currentIterator = next;
+                    return setAfterKeyframe(next.next());
+                }
+            } else if (keyframeFinished()) {
+                if (updateKeyframe(next)) {
+                    return setAfterKeyframe(next.next());
                 }
+            } else {
+                return false;
             }
         }
         return setAfterKeyframe(null);
     }
 
-    private boolean updateKeyframe(@NotNull Iterator<TreeIterator> iterator, @NotNull TreeIterator next) {
+    private boolean updateKeyframe(@NotNull TreeIterator next) {
         if (!next.hasNext()) {
-            next.eventHandler.animationRemove();
-            iterator.remove();
+            if (removeLayer(next)) next.eventHandler.animationRemove();
             return false;
         } else {
             return true;
         }
     }
 
+    private boolean removeLayer(@NotNull TreeIterator target) {
+        synchronized (animatorLock) {
+            var layers = animators;
+            var index = layers.indexOf(target);
+            if (index < 0) return false;
+            var copy = new ArrayList<>(layers);
+            copy.remove(index);
+            animators = List.copyOf(copy);
+            return true;
+        }
+    }
+
+    private int indexOf(@NotNull List<TreeIterator> layers, @NotNull String name) {
+        for (int i = 0; i < layers.size(); i++) {
+            if (layers.get(i).animation.name().equals(name)) return i;
+        }
+        return -1;
+    }
+
     private boolean setAfterKeyframe(@Nullable KeyframeData next) {
         if (value(afterKeyframe) == value(next)) return false;
         setConsumer.accept(
                 value(beforeKeyframe = afterKeyframe),
                 value(afterKeyframe = next)
         );
-        delay = Math.round(frame());
+        delay = Math.round(frame()) + Math.min(0, Math.max(delay, 1 - tickDelta));
         return true;
     }
 
@@ -171,8 +205,13 @@ public final class AnimationStateHandler<T extends Timed> {
      * @param eventHandler event handler
      */
     public void addAnimation(@NotNull String name, @NotNull AnimationIterator<T> iterator, @NotNull AnimationModifier modifier, @NotNull AnimationEventHandler eventHandler) {
-        synchronized (animators) {
-            animators.putLast(name, new TreeIterator(name, iterator, modifier, eventHandler));
+        var layer = new TreeIterator(name, iterator, modifier, eventHandler);
+        synchronized (animatorLock) {
+            var copy = new ArrayList<>(animators);
+            var index = indexOf(copy, name);
+            if (index >= 0) copy.remove(index);
+            copy.add(layer);
+            animators = List.copyOf(copy);
         }
         forceUpdateAnimation.set(true);
     }
@@ -184,10 +223,17 @@ public final class AnimationStateHandler<T extends Timed> {
      * @param modifier modifier
      */
     public void replaceAnimation(@NotNull String name, @NotNull AnimationIterator<T> iterator, @NotNull AnimationModifier modifier) {
-        synchronized (animators) {
-            animators.computeIfPresent(name, (k, v) -> new TreeIterator(k, iterator, v.modifier.toBuilder()
-                    .mergeNotDefault(modifier)
-                    .build(), v.eventHandler));
+        synchronized (animatorLock) {
+            var layers = animators;
+            var index = indexOf(layers, name);
+            if (index >= 0) {
+                var v = layers.get(index);
+                var copy = new ArrayList<>(layers);
+                copy.set(index, new TreeIterator(name, iterator, v.modifier.toBuilder()
+                        .mergeNotDefault(modifier)
+                        .build(), v.eventHandler));
+                animators = List.copyOf(copy);
+            }
         }
         forceUpdateAnimation.set(true);
     }
@@ -198,13 +244,16 @@ public final class AnimationStateHandler<T extends Timed> {
      * @return success
      */
     public boolean stopAnimation(@NotNull String name) {
-        synchronized (animators) {
-            if (animators.remove(name) != null) {
-                forceUpdateAnimation.set(true);
-                return true;
-            }
+        synchronized (animatorLock) {
+            var layers = animators;
+            var index = indexOf(layers, name);
+            if (index < 0) return false;
+            var copy = new ArrayList<>(layers);
+            copy.remove(index);
+            animators = List.copyOf(copy);
         }
-        return false;
+        forceUpdateAnimation.set(true);
+        return true;
     }
 
     /**
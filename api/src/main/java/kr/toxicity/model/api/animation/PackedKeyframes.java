@@ -0,0 +1,318 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.animation;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+import org.joml.Vector3f;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Packed keyframes of one animator.
+ * <p>
+ * Keyframes are stored as primitive arrays: a time delta and a presence bitmask per frame, and one float array per channel
+ * which only contains present vectors. Playback steps over these arrays by index through {@link Frame};
+ * {@link AnimationMovement} views are only built when this list is read, and are never cached.
+ */
+@ApiStatus.Internal
+@Unmodifiable
+public final class PackedKeyframes extends AbstractList<AnimationMovement> implements RandomAccess {
+
+    private static final byte POSITION = 1;
+    private static final byte SCALE = 1 << 1;
+    private static final byte ROTATION = 1 << 2;
+    private static final byte SKIP_INTERPOLATION = 1 << 3;
+    private static final float[] NO_VECTOR = new float[0];
+
+    /**
+     * Empty keyframes
+     */
+    public static final PackedKeyframes EMPTY = pack(List.of(AnimationMovement.EMPTY));
+
+    private final float[] time;
+    private final byte[] flag;
+    private final float[] position;
+    private final float[] scale;
+    private final float[] rotation;
+
+    /**
+     * Packs keyframes
+     * @param movements movements
+     * @return packed keyframes
+     */
+    public static @NotNull PackedKeyframes pack(@NotNull List<AnimationMovement> movements) {
+        if (movements instanceof PackedKeyframes packed) return packed;
+        var size = movements.size();
+        var time = new float[size];
+        var flag = new byte[size];
+        int positionCount = 0, scaleCount = 0, rotationCount = 0;
+        for (int i = 0; i < size; i++) {
+            var movement = movements.get(i);
+            time[i] = movement.time();
+            byte f = 0;
+            if (movement.position() != null) {
+                f |= POSITION;
+                positionCount++;
+            }
+            if (movement.scale() != null) {
+                f |= SCALE;
+                scaleCount++;
+            }
+            if (movement.rotation() != null) {
+                f |= ROTATION;
+                rotationCount++;
+            }
+            if (movement.skipInterpolation()) f |= SKIP_INTERPOLATION;
+            flag[i] = f;
+        }
+        var position = new float[positionCount * 3];
+        var scale = new float[scaleCount * 3];
+        var rotation = new float[rotationCount * 3];
+        int p = 0, s = 0, r = 0;
+        for (AnimationMovement movement : movements) {
+            p = put(position, p, movement.position());
+            s = put(scale, s, movement.scale());
+            r = put(rotation, r, movement.rotation());
+        }
+        return new PackedKeyframes(time, flag, position, scale, rotation);
+    }
+
+    private static int put(float[] array, int index, @Nullable Vector3f vector) {
+        if (vector == null) return index;
+        array[index] = vector.x;
+        array[index + 1] = vector.y;
+        array[index + 2] = vector.z;
+        return index + 3;
+    }
+
+    private PackedKeyframes(float[] time, byte[] flag, float[] position, float[] scale, float[] rotation) {
+        this.time = time;
+        this.flag = flag;
+        this.position = position;
+        this.scale = scale;
+        this.rotation = rotation;
+    }
+
+    /**
+     * Gets keyframes which have the same time and no channel
+     * @return empty keyframes
+     * @see AnimationMovement#empty()
+     */
+    public @NotNull PackedKeyframes empty() {
+        return new PackedKeyframes(time, new byte[time.length], NO_VECTOR, NO_VECTOR, NO_VECTOR);
+    }
+
+    /**
+     * Creates a frame iterator which steps over packed arrays by index
+     * @param type type
+     * @return iterator
+     */
+    public @NotNull AnimationIterator<Frame> iterator(@NotNull AnimationIterator.Type type) {
+        return new FrameIterator(type);
+    }
+
+    /**
+     * Gets the time delta of this index without materializing
+     * @param index index
+     * @return time delta
+     */
+    public float time(int index) {
+        return time[index];
+    }
+
+    @Override
+    public @NotNull AnimationMovement get(int index) {
+        Objects.checkIndex(index, time.length);
+        int p = 0, s = 0, r = 0;
+        for (int i = 0; i < index; i++) {
+            var f = flag[i];
+            if ((f & POSITION) != 0) p += 3;
+            if ((f & SCALE) != 0) s += 3;
+            if ((f & ROTATION) != 0) r += 3;
+        }
+        return frame(index, p, s, r).movement();
+    }
+
+    private @NotNull Frame frame(int index, int p, int s, int r) {
+        var f = flag[index];
+        return new Frame(
+                this,
+                index,
+                (f & POSITION) != 0 ? p : -1,
+                (f & SCALE) != 0 ? s : -1,
+                (f & ROTATION) != 0 ? r : -1
+        );
+    }
+
+    @Override
+    public int size() {
+        return time.length;
+    }
+
+    /**
+     * A keyframe of packed keyframes.
+     * It only holds the offsets of its channels, so stepping over keyframes never copies vectors.
+     */
+    public static final class Frame implements Timed {
+
+        /**
+         * Empty frame
+         */
+        public static final Frame EMPTY = PackedKeyframes.EMPTY.frame(0, 0, 0, 0);
+
+        private final PackedKeyframes keyframes;
+        private final int index;
+        private final int position;
+        private final int scale;
+        private final int rotation;
+
+        private Frame(@NotNull PackedKeyframes keyframes, int index, int position, int scale, int rotation) {
+            this.keyframes = keyframes;
+            this.index = index;
+            this.position = position;
+            this.scale = scale;
+            this.rotation = rotation;
+        }
+
+        @Override
+        public float time() {
+            return keyframes.time[index];
+        }
+
+        /**
+         * Checks this frame skips interpolation
+         * @return skip interpolation
+         */
+        public boolean skipInterpolation() {
+            return (keyframes.flag[index] & SKIP_INTERPOLATION) != 0;
+        }
+
+        /**
+         * Checks this frame has some keyframe
+         * @return has keyframe
+         */
+        public boolean hasKeyframe() {
+            return position >= 0 || scale >= 0 || rotation >= 0;
+        }
+
+        /**
+         * Adds position of this frame to the destination
+         * @param dest destination
+         * @return whether this frame has position
+         */
+        public boolean addPosition(@NotNull Vector3f dest) {
+            if (position < 0) return false;
+            var array = keyframes.position;
+            dest.add(array[position], array[position + 1], array[position + 2]);
+            return true;
+        }
+
+        /**
+         * Multiplies scale of this frame to the destination
+         * @param dest destination
+         * @return whether this frame has scale
+         */
+        public boolean mulScale(@NotNull Vector3f dest) {
+            if (scale < 0) return false;
+            var array = keyframes.scale;
+            dest.mul(array[scale] + 1, array[scale + 1] + 1, array[scale + 2] + 1);
+            return true;
+        }
+
+        /**
+         * Adds rotation of this frame to the destination
+         * @param dest destination
+         * @return whether this frame has rotation
+         */
+        public boolean addRotation(@NotNull Vector3f dest) {
+            if (rotation < 0) return false;
+            var array = keyframes.rotation;
+            dest.add(array[rotation], array[rotation + 1], array[rotation + 2]);
+            return true;
+        }
+
+        /**
+         * Creates a new movement view of this frame
+         * @return movement
+         */
+        public @NotNull AnimationMovement movement() {
+            return new AnimationMovement(
+                    time(),
+                    vector(keyframes.position, position),
+                    vector(keyframes.scale, scale),
+                    vector(keyframes.rotation, rotation),
+                    skipInterpolation()
+            );
+        }
+
+        private static @Nullable Vector3f vector(float[] array, int offset) {
+            return offset >= 0 ? new Vector3f(array[offset], array[offset + 1], array[offset + 2]) : null;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Frame frame && keyframes == frame.keyframes && index == frame.index;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(keyframes) + index;
+        }
+    }
+
+    private final class FrameIterator implements AnimationIterator<Frame> {
+        private final Type type;
+        private int index, position, scale, rotation;
+        private Frame last;
+
+        private FrameIterator(@NotNull Type type) {
+            this.type = type;
+        }
+
+        @Override
+        public void clear() {
+            if (type == Type.PLAY_ONCE) index = Integer.MAX_VALUE;
+            else rewind();
+        }
+
+        private void rewind() {
+            index = position = scale = rotation = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return type != Type.PLAY_ONCE || index < time.length;
+        }
+
+        @Override
+        public @NotNull Frame next() {
+            if (index >= time.length) {
+                if (type == Type.HOLD_ON_LAST && last != null) return last;
+                if (type != Type.LOOP) throw new NoSuchElementException();
+                rewind();
+            }
+            var next = last != null && last.index == index ? last : frame(index, position, scale, rotation);
+            var f = flag[index++];
+            if ((f & POSITION) != 0) position += 3;
+            if ((f & SCALE) != 0) scale += 3;
+            if ((f & ROTATION) != 0) rotation += 3;
+            return last = next;
+        }
+
+        @Override
+        public @NotNull Type type() {
+            return type;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.bone;
+
+import kr.toxicity.model.api.BetterModel;
+import kr.toxicity.model.api.animation.PackedKeyframes;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A shared cache of parent-composed bone movements.
+ * <p>
+ * It belongs to one bone of one model renderer and is keyed by keyframe and the parent's cached movement,
+ * so every tracker of the same model running the same keyframe reuses the same result.
+ * Cached movements are shared between trackers and must not be modified.
+ * Once the cache is full, movements not read since the last sweep are evicted (clock policy).
+ */
+@ApiStatus.Internal
+public final class BoneFrameCache {
+
+    private static final Object ROOT = new Object();
+
+    private final Map<Key, Entry> cache = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final ReentrantLock sweepLock = new ReentrantLock();
+
+    /**
+     * Gets cached movement
+     * @param keyframe keyframe
+     * @param parent parent's cached movement or null if it is root
+     * @return cached movement or null
+     */
+    public @Nullable BoneMovement get(@NotNull PackedKeyframes.Frame keyframe, @Nullable BoneMovement parent) {
+        var entry = cache.get(new Key(keyframe, parent != null ? parent : ROOT));
+        if (entry == null) return null;
+        entry.referenced = true;
+        return entry.movement;
+    }
+
+    /**
+     * Puts movement to this cache
+     * @param keyframe keyframe
+     * @param parent parent's cached movement or null if it is root
+     * @param movement movement
+     * @return cached movement
+     */
+    public @NotNull BoneMovement put(@NotNull PackedKeyframes.Frame keyframe, @Nullable BoneMovement parent, @NotNull BoneMovement movement) {
+        var maxSize = BetterModel.config().frameCacheSize();
+        if (maxSize <= 0) return movement;
+        if (size.get() >= maxSize && !sweep(maxSize)) return movement;
+        var previous = cache.putIfAbsent(new Key(keyframe, parent != null ? parent : ROOT), new Entry(movement));
+        if (previous != null) return previous.movement;
+        size.incrementAndGet();
+        return movement;
+    }
+
+    private boolean sweep(int maxSize) {
+        if (!sweepLock.tryLock()) return false;
+        try {
+            if (size.get() < maxSize) return true;
+            cache.values().removeIf(entry -> {
+                if (entry.referenced) {
+                    entry.referenced = false;
+                    return false;
+                }
+                size.decrementAndGet();
+                return true;
+            });
+            return size.get() < maxSize;
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of cached movements
+     * @return size
+     */
+    public int size() {
+        return size.get();
+    }
+
+    private record Key(@NotNull PackedKeyframes.Frame keyframe, @NotNull Object parent) {
+    }
+
+    private static final class Entry {
+        private final BoneMovement movement;
+        private volatile boolean referenced = true;
+
+        private Entry(@NotNull BoneMovement movement) {
+            this.movement = movement;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.bone;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A flattened bone tree of a pipeline.
+ * <p>
+ * Bones are stored in topological order, so every parent comes before its children.
+ * The composed model-space transform of each bone's global state is stored in primitive arrays by index.
+ * Ticking in this order fills them in one pass, and each bone reads its parent's transform by the parent index.
+ */
+@ApiStatus.Internal
+public final class BoneHierarchy {
+
+    private final RenderedBone[] bones;
+    private final int[] parentIndex;
+    private final List<RenderedBone> boneList;
+
+    private final float[] position;
+    private final float[] scale;
+    private final float[] rotation;
+    private final BoneMovement[] shared;
+
+    /**
+     * Compiles the bone tree
+     * @param roots root bones
+     */
+    public BoneHierarchy(@NotNull Collection<RenderedBone> roots) {
+        var list = new ArrayList<RenderedBone>();
+        var parents = new ArrayList<Integer>();
+        for (RenderedBone root : roots) {
+            add(root, -1, list, parents);
+        }
+        var size = list.size();
+        bones = list.toArray(new RenderedBone[0]);
+        parentIndex = new int[size];
+        boneList = List.of(bones);
+        position = new float[size * 3];
+        scale = new float[size * 3];
+        rotation = new float[size * 4];
+        shared = new BoneMovement[size];
+        for (int i = 0; i < size; i++) {
+            parentIndex[i] = parents.get(i);
+            scale[i * 3] = scale[i * 3 + 1] = scale[i * 3 + 2] = 1;
+            rotation[i * 4 + 3] = 1;
+            bones[i].hierarchy(this, i);
+        }
+    }
+
+    private static void add(@NotNull RenderedBone bone, int parent, @NotNull List<RenderedBone> list, @NotNull List<Integer> parents) {
+        var index = list.size();
+        list.add(bone);
+        parents.add(parent);
+        for (RenderedBone child : bone.getChildren().values()) {
+            add(child, index, list, parents);
+        }
+    }
+
+    /**
+     * Gets the number of bones
+     * @return size
+     */
+    public int size() {
+        return bones.length;
+    }
+
+    /**
+     * Gets the bone of this index
+     * @param index index
+     * @return bone
+     */
+    public @NotNull RenderedBone bone(int index) {
+        return bones[index];
+    }
+
+    /**
+     * Gets the parent index of this index
+     * @param index index
+     * @return parent index or -1 if it is root
+     */
+    public int parentIndex(int index) {
+        return parentIndex[index];
+    }
+
+    /**
+     * Stores the composed transform of this index
+     * @param index index
+     * @param movement composed movement
+     * @param isShared whether the movement is shared by the frame cache
+     */
+    void transform(int index, @NotNull BoneMovement movement, boolean isShared) {
+        var t = movement.transform();
+        var s = movement.scale();
+        var r = movement.rotation();
+        var i3 = index * 3;
+        var i4 = index * 4;
+        position[i3] = t.x;
+        position[i3 + 1] = t.y;
+        position[i3 + 2] = t.z;
+        scale[i3] = s.x;
+        scale[i3 + 1] = s.y;
+        scale[i3 + 2] = s.z;
+        rotation[i4] = r.x;
+        rotation[i4 + 1] = r.y;
+        rotation[i4 + 2] = r.z;
+        rotation[i4 + 3] = r.w;
+        shared[index] = isShared ? movement : null;
+    }
+
+    /**
+     * Reads the composed transform of this index
+     * @param index index
+     * @param dest destination
+     * @return dest
+     */
+    @NotNull BoneMovement transform(int index, @NotNull BoneMovement dest) {
+        var i3 = index * 3;
+        var i4 = index * 4;
+        dest.transform().set(position[i3], position[i3 + 1], position[i3 + 2]);
+        dest.scale().set(scale[i3], scale[i3 + 1], scale[i3 + 2]);
+        dest.rotation().set(rotation[i4], rotation[i4 + 1], rotation[i4 + 2], rotation[i4 + 3]);
+        return dest;
+    }
+
+    /**
+     * Gets the frame cache movement of this index
+     * @param index index
+     * @return shared movement or null if the last composed transform is not shared
+     */
+    @Nullable BoneMovement shared(int index) {
+        return shared[index];
+    }
+
+    /**
+     * Gets all bones in topological order
+     * @return bones
+     */
+    public @NotNull @Unmodifiable List<RenderedBone> bones() {
+        return boneList;
+    }
+
+    /**
+     * Runs consumer on all bones in topological order
+     * @param consumer consumer
+     */
+    public void forEach(@NotNull Consumer<RenderedBone> consumer) {
+        for (RenderedBone bone : bones) {
+            consumer.accept(bone);
+        }
+    }
+
+    /**
+     * Tests all bones in topological order
+     * @param predicate predicate
+     * @return whether some bone is matched
+     */
+    public boolean match(@NotNull Predicate<RenderedBone> predicate) {
+        var result = false;
+        for (RenderedBone bone : bones) {
+            if (predicate.test(bone)) result = true;
+        }
+        return result;
+    }
+}
@@ -7,6 +7,7 @@
 package kr.toxicity.model.api.bone;
 
 import kr.toxicity.model.api.animation.AnimationMovement;
+import kr.toxicity.model.api.animation.PackedKeyframes;
 import kr.toxicity.model.api.util.MathUtil;
 import org.jetbrains.annotations.NotNull;
 import org.joml.Quaternionf;
@@ -42,4 +43,61 @@ public record BoneMovement(
                 rawRot
         );
     }
+
+    /**
+     * Animates this movement to the destination.
+     * @param movement animation
+     * @param dest destination
+     * @return dest
+     */
+    public @NotNull BoneMovement plus(@NotNull AnimationMovement movement, @NotNull BoneMovement dest) {
+        var mov = movement.position();
+        var scl = movement.scale();
+        var rot = movement.rotation();
+        dest.transform.set(transform);
+        if (mov != null) dest.transform.add(mov);
+        dest.scale.set(scale);
+        if (scl != null) dest.scale.mul(scl.x + 1, scl.y + 1, scl.z + 1);
+        dest.rawRotation.set(rawRotation);
+        if (rot != null) {
+            MathUtil.toQuaternion(dest.rawRotation.add(rot), dest.rotation);
+        } else dest.rotation.set(rotation);
+        return dest;
+    }
+
+    /**
+     * Animates this movement by packed frame to the destination.
+     * @param frame frame
+     * @param dest destination
+     * @return dest
+     */
+    public @NotNull BoneMovement plus(@NotNull PackedKeyframes.Frame frame, @NotNull BoneMovement dest) {
+        frame.addPosition(dest.transform.set(transform));
+        frame.mulScale(dest.scale.set(scale));
+        if (frame.addRotation(dest.rawRotation.set(rawRotation))) {
+            MathUtil.toQuaternion(dest.rawRotation, dest.rotation);
+        } else dest.rotation.set(rotation);
+        return dest;
+    }
+
+    /**
+     * Sets this movement to the given movement
+     * @param movement movement
+     * @return this
+     */
+    public @NotNull BoneMovement set(@NotNull BoneMovement movement) {
+        transform.set(movement.transform);
+        scale.set(movement.scale);
+        rotation.set(movement.rotation);
+        rawRotation.set(movement.rawRotation);
+        return this;
+    }
+
+    /**
+     * Creates empty movement which can be used as destination
+     * @return empty movement
+     */
+    public static @NotNull BoneMovement empty() {
+        return new BoneMovement(new Vector3f(), new Vector3f(1), new Quaternionf(), new Vector3f());
+    }
 }
@@ -33,6 +33,7 @@ import org.jetbrains.annotations.Nullable;
 import org.joml.Quaternionf;
 import org.joml.Vector3f;
 
+import java.lang.invoke.VarHandle;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -71,6 +72,10 @@ public final class RenderedBone implements BoneEventHandler {
     @NotNull
     private final Map<BoneName, RenderedBone> children;
 
+    @Getter
+    private int index = -1;
+    private BoneHierarchy hierarchy;
+
     private final Int2ObjectMap<ItemStack> tintCacheMap = new Int2ObjectOpenHashMap<>();
     @Getter
     private final boolean dummyBone;
@@ -102,10 +107,11 @@ public final class RenderedBone implements BoneEventHandler {
     private Supplier<Vector3f> defaultPosition = FunctionUtil.asSupplier(EMPTY_VECTOR);
     private FloatSupplier scale = FloatConstantSupplier.ONE;
 
-    private Function<Vector3f, Vector3f> positionModifier = p -> p;
-    private Vector3f lastModifiedPosition = new Vector3f();
-    private Function<Quaternionf, Quaternionf> rotationModifier = r -> r;
-    private Quaternionf lastModifiedRotation = new Quaternionf();
+    private Consumer<Vector3f> positionModifier = p -> {};
+    private final Vector3f lastModifiedPosition = new Vector3f();
+    private Consumer<Quaternionf> rotationModifier = r -> {};
+    private final Quaternionf lastModifiedRotation = new Quaternionf();
+    private volatile boolean modified;
 
     /**
      * Creates entity.
@@ -143,6 +149,11 @@ public final class RenderedBone implements BoneEventHandler {
         globalState = new BoneStateHandler(null, uuid -> {});
     }
 
+    void hierarchy(@NotNull BoneHierarchy hierarchy, int index) {
+        this.hierarchy = hierarchy;
+        this.index = index;
+    }
+
     private @NotNull BoneStateHandler state(@Nullable Player player) {
         return state(player != null ? player.getUniqueId() : null);
     }
@@ -188,7 +199,10 @@ public final class RenderedBone implements BoneEventHandler {
                 if (h == null) h = ModelBoundingBox.MIN.named(name());
                 var l = eventDispatcher.onCreateHitBox(this, (listener != null ? listener : HitBoxListener.EMPTY).toBuilder()).build();
                 if (hitBox != null) hitBox.removeHitBox();
-                hitBox = BetterModel.plugin().nms().createHitBox(entity, this, h, group.getMountController(), l);
+                var controller = group.getMountController();
+                hitBox = BetterModel.config().virtualHitBox() && !controller.canMount()
+                        ? new VirtualHitBox(entity, this, h.name(), h.center(), controller, l)
+                        : BetterModel.plugin().nms().createHitBox(entity, this, h, controller, l);
                 return hitBox != null;
             }
         }
@@ -334,8 +348,22 @@ public final class RenderedBone implements BoneEventHandler {
      * @return whether to success
      */
     public synchronized boolean addRotationModifier(@NotNull Predicate<RenderedBone> predicate, @NotNull Function<Quaternionf, Quaternionf> function) {
+        return addRotationMutator(predicate, r -> {
+            var result = function.apply(r);
+            if (result != r) r.set(result);
+        });
+    }
+
+    /**
+     * Adds in-place rotation modifier.
+     * @param predicate predicate
+     * @param consumer rotation consumer which modifies the given quaternion
+     * @return whether to success
+     */
+    public synchronized boolean addRotationMutator(@NotNull Predicate<RenderedBone> predicate, @NotNull Consumer<Quaternionf> consumer) {
         if (predicate.test(this)) {
-            rotationModifier = rotationModifier.andThen(function);
+            rotationModifier = rotationModifier.andThen(consumer);
+            modified = true;
             return true;
         }
         return false;
@@ -348,8 +376,22 @@ public final class RenderedBone implements BoneEventHandler {
      * @return whether to success
      */
     public synchronized boolean addPositionModifier(@NotNull Predicate<RenderedBone> predicate, @NotNull Function<Vector3f, Vector3f> function) {
+        return addPositionMutator(predicate, p -> {
+            var result = function.apply(p);
+            if (result != p) p.set(result);
+        });
+    }
+
+    /**
+     * Adds in-place position modifier.
+     * @param predicate predicate
+     * @param consumer position consumer which modifies the given vector
+     * @return whether to success
+     */
+    public synchronized boolean addPositionMutator(@NotNull Predicate<RenderedBone> predicate, @NotNull Consumer<Vector3f> consumer) {
         if (predicate.test(this)) {
-            positionModifier = positionModifier.andThen(function);
+            positionModifier = positionModifier.andThen(consumer);
+            modified = true;
             return true;
         }
         return false;
@@ -365,12 +407,20 @@ public final class RenderedBone implements BoneEventHandler {
     }
 
     public boolean tick(@NotNull PacketBundler globalBundler) {
-        return globalState.tick(globalBundler);
+        return tick(1, globalBundler);
+    }
+
+    public boolean tick(int delta, @NotNull PacketBundler globalBundler) {
+        return globalState.tick(delta, globalBundler);
     }
 
     public boolean tick(@NotNull UUID uuid, @NotNull PacketBundler perPlayerBundler) {
+        return tick(uuid, 1, perPlayerBundler);
+    }
+
+    public boolean tick(@NotNull UUID uuid, int delta, @NotNull PacketBundler perPlayerBundler) {
         var get = perPlayerState.get(uuid);
-        return get != null && get.tick(perPlayerBundler);
+        return get != null && get.tick(delta, perPlayerBundler);
     }
 
     public void dirtyUpdate(@NotNull PacketBundler bundler) {
@@ -412,20 +462,23 @@ public final class RenderedBone implements BoneEventHandler {
     public @NotNull Vector3f worldPosition(@NotNull Vector3f localOffset, @NotNull Vector3f globalOffset, @Nullable UUID uuid) {
         var state = state(uuid);
         var progress = state.progress();
-        var after = state.afterTransform != null ? state.afterTransform : state.relativeOffset();
-        var before = state.beforeTransform != null ? state.beforeTransform : EMPTY_MOVEMENT;
-        return MathUtil.fma(
-                        InterpolationUtil.lerp(before.transform(), after.transform(), progress)
-                                .add(itemStack.offset())
-                                .add(localOffset)
-                                .rotate(
-                                        MathUtil.toQuaternion(InterpolationUtil.lerp(before.rawRotation(), after.rawRotation(), progress))
-                                ),
-                        InterpolationUtil.lerp(before.scale(), after.scale(), progress),
-                        globalOffset
-
-                )
-                .add(root.getGroup().getPosition())
+        return state.readMovement((before, after) -> {
+            var beforeRotation = before.rawRotation();
+            var afterRotation = after.rawRotation();
+            var beforeScale = before.scale();
+            var afterScale = after.scale();
+            var result = InterpolationUtil.lerp(before.transform(), after.transform(), progress, new Vector3f())
+                    .add(itemStack.offset())
+                    .add(localOffset)
+                    .rotateX(InterpolationUtil.lerp(beforeRotation.x, afterRotation.x, progress) * MathUtil.DEGREES_TO_RADIANS)
+                    .rotateY(InterpolationUtil.lerp(beforeRotation.y, afterRotation.y, progress) * MathUtil.DEGREES_TO_RADIANS)
+                    .rotateZ(InterpolationUtil.lerp(beforeRotation.z, afterRotation.z, progress) * MathUtil.DEGREES_TO_RADIANS);
+            return result.set(
+                    MathUtil.fma(result.x, InterpolationUtil.lerp(beforeScale.x, afterScale.x, progress), globalOffset.x),
+                    MathUtil.fma(result.y, InterpolationUtil.lerp(beforeScale.y, afterScale.y, progress), globalOffset.y),
+                    MathUtil.fma(result.z, InterpolationUtil.lerp(beforeScale.z, afterScale.z, progress), globalOffset.z)
+            );
+        }).add(root.getGroup().getPosition())
                 .mul(scale.getAsFloat())
                 .rotateX(-rotation.radianX())
                 .rotateY(-rotation.radianY());
@@ -438,9 +491,17 @@ public final class RenderedBone implements BoneEventHandler {
     public @NotNull Vector3f worldRotation(@Nullable UUID uuid) {
         var state = state(uuid);
         var progress = state.progress();
-        var after = state.afterTransform != null ? state.afterTransform : state.relativeOffset();
-        var before = state.beforeTransform != null ? state.beforeTransform : EMPTY_MOVEMENT;
-        return InterpolationUtil.lerp(before.rawRotation(), after.rawRotation(), progress);
+        return state.readMovement((before, after) -> InterpolationUtil.lerp(before.rawRotation(), after.rawRotation(), progress));
+    }
+
+    private @NotNull BoneMovement defaultOffset() {
+        var def = defaultFrame.plus(AnimationMovement.EMPTY, BoneMovement.empty());
+        if (parent == null) return def;
+        var p = parent.defaultOffset();
+        MathUtil.fma(def.transform().rotate(p.rotation()), p.scale(), p.transform());
+        def.scale().mul(p.scale());
+        def.rotation().premul(p.rotation());
+        return def;
     }
 
     public void defaultPosition(@NotNull Supplier<Vector3f> movement) {
@@ -448,11 +509,13 @@ public final class RenderedBone implements BoneEventHandler {
     }
 
     private @NotNull Vector3f modifiedPosition(boolean preventModifierUpdate) {
-        return preventModifierUpdate ? lastModifiedPosition : (lastModifiedPosition = positionModifier.apply(new Vector3f()));
+        if (!preventModifierUpdate) positionModifier.accept(lastModifiedPosition.zero());
+        return lastModifiedPosition;
     }
 
     private @NotNull Quaternionf modifiedRotation(boolean preventModifierUpdate) {
-        return preventModifierUpdate ? lastModifiedRotation : (lastModifiedRotation = rotationModifier.apply(new Quaternionf()));
+        if (!preventModifierUpdate) rotationModifier.accept(lastModifiedRotation.identity());
+        return lastModifiedRotation;
     }
 
     public boolean tint(@NotNull Predicate<RenderedBone> predicate) {
@@ -501,7 +564,7 @@ public final class RenderedBone implements BoneEventHandler {
             var get = animator.animator().get(name());
             if (get == null && modifier.override(animator.override()) && !filter.isChildren()) return false;
             var type = modifier.type(animator.loop());
-            var iterator = get != null ? get.iterator(type) : animator.emptyIterator(type);
+            var iterator = get != null ? get.frameIterator(type) : animator.emptyFrameIterator(type);
             getOrCreateState(modifier.player()).state.addAnimation(animator.name(), iterator, modifier, eventHandler);
             return true;
         }
@@ -513,7 +576,7 @@ public final class RenderedBone implements BoneEventHandler {
             var get = animator.animator().get(name());
             if (get == null && modifier.override(animator.override()) && !filter.isChildren()) return false;
             var type = modifier.type(animator.loop());
-            var iterator = get != null ? get.iterator(type) : animator.emptyIterator(type);
+            var iterator = get != null ? get.frameIterator(type) : animator.emptyFrameIterator(type);
             state(modifier.player()).state.replaceAnimation(target, iterator, modifier);
             return true;
         }
@@ -622,15 +685,35 @@ public final class RenderedBone implements BoneEventHandler {
         private boolean skipInterpolation = false;
         private final @Nullable UUID uuid;
         private final @NotNull Consumer<UUID> consumer;
-        private final AnimationStateHandler<AnimationMovement> state;
-        private volatile BoneMovement beforeTransform, afterTransform, relativeOffsetCache;
+        private final AnimationStateHandler<PackedKeyframes.Frame> state;
+        private volatile BoneMovement relativeOffsetCache;
+        private final BoneMovement[] beforeBuffer = {
+                BoneMovement.empty(),
+                BoneMovement.empty()
+        };
+        private final BoneMovement[] afterBuffer = {
+                BoneMovement.empty(),
+                BoneMovement.empty()
+        };
+        private volatile long published;
+        private BoneMovement sentMovement;
+        private volatile boolean sharedOffset;
+        private final BoneMovement[] movementPool = {
+                BoneMovement.empty(),
+                BoneMovement.empty(),
+                BoneMovement.empty()
+        };
+        private final BoneMovement parentOffset = BoneMovement.empty();
+        private final Vector3f positionCache = new Vector3f();
+        private final Vector3f scaleCache = new Vector3f();
+        private final Quaternionf rotationCache = new Quaternionf();
         private final DisplayTransformer transformer = display != null ? display.createTransformer() : null;
 
         private BoneStateHandler(@Nullable UUID uuid, @NotNull Consumer<UUID> consumer) {
             this.uuid = uuid;
             this.consumer = consumer;
             state = new AnimationStateHandler<>(
-                    AnimationMovement.EMPTY,
+                    PackedKeyframes.Frame.EMPTY,
                     (b, a) -> {
                         skipInterpolation = false;
                         relativeOffsetCache = null;
@@ -639,8 +722,8 @@ public final class RenderedBone implements BoneEventHandler {
             );
         }
 
-        public boolean tick(@NotNull PacketBundler bundler) {
-            var result = state.tick(() -> {
+        public boolean tick(int delta, @NotNull PacketBundler bundler) {
+            var result = state.tick(delta, () -> {
                 if (uuid != null) {
                     perPlayerState.remove(uuid);
                     consumer.accept(uuid);
@@ -655,48 +738,102 @@ public final class RenderedBone implements BoneEventHandler {
             return 1F - state.progress();
         }
 
-        private @NotNull BoneMovement defaultFrame() {
-            var keyframe = state.afterKeyframe();
-            return defaultFrame.plus(keyframe != null ? keyframe : AnimationMovement.EMPTY);
+
+        private @NotNull BoneMovement freeMovement() {
+            var cache = relativeOffsetCache;
+            var sent = sentMovement;
+            for (BoneMovement movement : movementPool) {
+                if (movement != cache && movement != sent) return movement;
+            }
+            throw new IllegalStateException("Movement pool is exhausted.");
         }
 
         public int interpolationDuration() {
             if (root.state(uuid).skipInterpolation) return 0;
-            var frame = state.frame() / (float) Tracker.MINECRAFT_TICK_MULTIPLIER;
+            var frame = Math.max(state.frame(), state.getTickDelta()) / (float) Tracker.MINECRAFT_TICK_MULTIPLIER;
             return Math.round(frame + MathUtil.FLOAT_COMPARISON_EPSILON);
         }
 
         private @NotNull BoneMovement nextMovement() {
-            beforeTransform = afterTransform;
-            return afterTransform = relativeOffset();
+            var movement = sentMovement = relativeOffset();
+            var front = published;
+            var back = (int) ((front + 1) & 1);
+            beforeBuffer[back].set(front > 0 ? afterBuffer[(int) (front & 1)] : EMPTY_MOVEMENT);
+            afterBuffer[back].set(movement);
+            published = front + 1;
+            return movement;
+        }
+
+        /**
+         * Reads the last sent movement pair from any thread.
+         * The writer only fills the back buffer, so a read is retried only when the writer has lapped it.
+         * @param reader reader
+         * @return result
+         * @param <R> result type
+         */
+        private <R> @NotNull R readMovement(@NotNull BiFunction<BoneMovement, BoneMovement, R> reader) {
+            while (true) {
+                var front = published;
+                if (front == 0) return reader.apply(EMPTY_MOVEMENT, defaultOffset());
+                var slot = (int) (front & 1);
+                var result = reader.apply(beforeBuffer[slot], afterBuffer[slot]);
+                VarHandle.acquireFence();
+                if (published == front) return result;
+            }
         }
 
         private @NotNull BoneMovement relativeOffset() {
-            if (relativeOffsetCache != null) return relativeOffsetCache;
-            var def = defaultFrame();
-            var preventModifierUpdate = interpolationDuration() < 1;
+            var cache = relativeOffsetCache;
+            if (cache != null) return cache;
+            var keyframe = state.afterKeyframe();
+            if (keyframe == null) keyframe = PackedKeyframes.Frame.EMPTY;
+            BoneMovement p = null;
+            var parentShared = true;
             if (parent != null) {
-                var p = parent.state(uuid).relativeOffset();
-                return relativeOffsetCache = new BoneMovement(
-                        MathUtil.fma(
-                                        def.transform().rotate(p.rotation()),
-                                        p.scale(),
-                                        p.transform()
-                                ).sub(parent.lastModifiedPosition)
-                                .add(modifiedPosition(preventModifierUpdate)),
-                        def.scale().mul(p.scale()),
-                        p.rotation().div(parent.lastModifiedRotation, new Quaternionf())
-                                .mul(def.rotation())
-                                .mul(modifiedRotation(preventModifierUpdate)),
-                        def.rawRotation()
-                );
+                var parentState = parent.state(uuid);
+                if (hierarchy != null && parentState == parent.globalState) {
+                    var parentIndex = hierarchy.parentIndex(index);
+                    p = hierarchy.shared(parentIndex);
+                    parentShared = p != null;
+                    if (p == null) p = hierarchy.transform(parentIndex, parentOffset);
+                } else {
+                    p = parentState.relativeOffset();
+                    parentShared = parentState.sharedOffset;
+                }
             }
-            return relativeOffsetCache = new BoneMovement(
-                    def.transform().add(modifiedPosition(preventModifierUpdate)),
-                    def.scale(),
-                    def.rotation().mul(modifiedRotation(preventModifierUpdate)),
-                    def.rawRotation()
-            );
+            BoneMovement result;
+            if (!modified && parentShared) {
+                var frameCache = group.getFrameCache();
+                result = frameCache.get(keyframe, p);
+                if (result == null) result = frameCache.put(keyframe, p, relativeOffset(BoneMovement.empty(), keyframe, p));
+                sharedOffset = true;
+            } else {
+                result = relativeOffset(freeMovement(), keyframe, p);
+                sharedOffset = false;
+            }
+            if (uuid == null && hierarchy != null) hierarchy.transform(index, result, sharedOffset);
+            return relativeOffsetCache = result;
+        }
+
+        private @NotNull BoneMovement relativeOffset(@NotNull BoneMovement dest, @NotNull PackedKeyframes.Frame keyframe, @Nullable BoneMovement p) {
+            var def = defaultFrame.plus(keyframe, dest);
+            var preventModifierUpdate = interpolationDuration() < 1;
+            if (p != null) {
+                MathUtil.fma(
+                                def.transform().rotate(p.rotation()),
+                                p.scale(),
+                                p.transform()
+                        ).sub(parent.lastModifiedPosition)
+                        .add(modifiedPosition(preventModifierUpdate));
+                def.scale().mul(p.scale());
+                def.rotation()
+                        .premul(p.rotation().div(parent.lastModifiedRotation, rotationCache))
+                        .mul(modifiedRotation(preventModifierUpdate));
+                return def;
+            }
+            def.transform().add(modifiedPosition(preventModifierUpdate));
+            def.rotation().mul(modifiedRotation(preventModifierUpdate));
+            return def;
         }
 
         private void sendTransformation(@NotNull PacketBundler bundler) {
@@ -706,14 +843,14 @@ public final class RenderedBone implements BoneEventHandler {
             transformer.transform(
                     interpolationDuration(),
                     MathUtil.fma(
-                            itemStack.offset().rotate(boneMovement.rotation(), new Vector3f())
+                            itemStack.offset().rotate(boneMovement.rotation(), positionCache)
                                     .add(boneMovement.transform())
                                     .add(root.group.getPosition()),
                             mul,
                             itemStack.position()
                     ).add(defaultPosition.get()),
                     boneMovement.scale()
-                            .mul(itemStack.scale(), new Vector3f())
+                            .mul(itemStack.scale(), scaleCache)
                             .mul(mul)
                             .max(EMPTY_VECTOR),
                     boneMovement.rotation(),
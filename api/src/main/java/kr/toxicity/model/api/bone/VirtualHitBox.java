@@ -0,0 +1,453 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.bone;
+
+import kr.toxicity.model.api.BetterModel;
+import kr.toxicity.model.api.data.blueprint.ModelBoundingBox;
+import kr.toxicity.model.api.event.ModelDamageSource;
+import kr.toxicity.model.api.event.ModelDamagedEvent;
+import kr.toxicity.model.api.event.ModelInteractAtEvent;
+import kr.toxicity.model.api.event.ModelInteractEvent;
+import kr.toxicity.model.api.mount.MountController;
+import kr.toxicity.model.api.nms.EntityAdapter;
+import kr.toxicity.model.api.nms.HitBox;
+import kr.toxicity.model.api.nms.HitBoxListener;
+import kr.toxicity.model.api.nms.ModelInteraction;
+import kr.toxicity.model.api.nms.ModelInteractionHand;
+import kr.toxicity.model.api.nms.PacketBundler;
+import kr.toxicity.model.api.util.EventUtil;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.util.Vector;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix3f;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A hit-box which spawns no server entity.
+ * <p>
+ * Each viewer gets a packet-only interaction entity covering the bone's rotated bounding box,
+ * so the client targets it and sends interact packets with its client-side id.
+ * Those packets are validated by intersecting the player's look ray with the rotated bounding box in model space,
+ * and fire the same events and listener callbacks as an entity hit-box. It can't be mounted.
+ */
+@ApiStatus.Internal
+public final class VirtualHitBox implements HitBox {
+
+    private static final Map<Integer, VirtualHitBox> BY_ID = new ConcurrentHashMap<>();
+    private static final ThreadLocal<VirtualHitBox> ATTACKING = new ThreadLocal<>();
+    private static final double SURVIVAL_REACH = 3;
+    private static final double CREATIVE_REACH = 5;
+    private static final float EPSILON = 1.0E-7F;
+
+    private final ModelInteraction interaction = BetterModel.plugin().nms().createInteraction();
+    private final UUID uuid = UUID.randomUUID();
+    private final EntityAdapter entity;
+    private final RenderedBone bone;
+    private final BoneName name;
+    private final ModelBoundingBox box;
+    private final HitBoxListener listener;
+    private final Set<UUID> hidePlayerSet = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, Player> viewers = new ConcurrentHashMap<>();
+    private volatile MountController mountController;
+    private volatile boolean removed;
+
+    /**
+     * Creates virtual hit-box
+     * @param entity source entity
+     * @param bone position source
+     * @param name group name
+     * @param box centered bounding box
+     * @param mountController mount controller
+     * @param listener listener
+     */
+    public VirtualHitBox(
+            @NotNull EntityAdapter entity,
+            @NotNull RenderedBone bone,
+            @NotNull BoneName name,
+            @NotNull ModelBoundingBox box,
+            @NotNull MountController mountController,
+            @NotNull HitBoxListener listener
+    ) {
+        this.entity = entity;
+        this.bone = bone;
+        this.name = name;
+        this.box = box;
+        this.mountController = mountController;
+        this.listener = listener;
+        BY_ID.put(interaction.id(), this);
+    }
+
+    /**
+     * Hit result
+     * @param hitBox hit-box
+     * @param distance distance from player's eye
+     * @param position hit position relative to the hit-box
+     */
+    public record Hit(@NotNull VirtualHitBox hitBox, double distance, @NotNull Vector position) {
+    }
+
+    /**
+     * Gets virtual hit-box by the client-side id of its interaction entity
+     * @param id id
+     * @return hit-box or null
+     */
+    public static @Nullable VirtualHitBox byId(int id) {
+        return BY_ID.get(id);
+    }
+
+    /**
+     * Validates that some player is looking at this hit-box
+     * @param player player
+     * @return hit or null if the player's look ray misses the rotated bounding box
+     */
+    public @Nullable Hit hit(@NotNull Player player) {
+        if (!isTarget(player)) return null;
+        var eye = player.getEyeLocation();
+        return intersect(eye, eye.getDirection(), player.getGameMode() == GameMode.CREATIVE ? CREATIVE_REACH : SURVIVAL_REACH);
+    }
+
+    /**
+     * Gets the virtual hit-box being attacked in this thread
+     * @return hit-box or null
+     */
+    public static @Nullable VirtualHitBox attacking() {
+        return ATTACKING.get();
+    }
+
+    private boolean isTarget(@NotNull Player player) {
+        return !removed && !hidePlayerSet.contains(player.getUniqueId());
+    }
+
+    private @Nullable Hit intersect(@NotNull Location eye, @NotNull Vector direction, double reach) {
+        var location = entity.entity().getLocation();
+        if (location.getWorld() != eye.getWorld()) return null;
+        var center = bone.hitBoxPosition();
+        var distance = intersect(
+                new Vector3f(
+                        (float) (eye.getX() - location.getX()),
+                        (float) (eye.getY() - location.getY()),
+                        (float) (eye.getZ() - location.getZ())
+                ),
+                new Vector3f((float) direction.getX(), (float) direction.getY(), (float) direction.getZ()),
+                center,
+                bone.hitBoxViewRotation(),
+                bone.hitBoxScale(),
+                box,
+                reach
+        );
+        if (distance < 0) return null;
+        var position = new Vector(
+                eye.getX() + direction.getX() * distance - location.getX() - center.x,
+                eye.getY() + direction.getY() * distance - location.getY() - center.y,
+                eye.getZ() + direction.getZ() * distance - location.getZ() - center.z
+        );
+        return new Hit(this, distance, position);
+    }
+
+    /**
+     * Intersects a ray with a rotated bounding box by the slab method
+     * @param origin ray origin
+     * @param direction normalized ray direction
+     * @param center box center
+     * @param rotation box rotation
+     * @param scale box scale
+     * @param box centered bounding box
+     * @param reach max distance
+     * @return distance to the nearest hit, or -1 if the ray misses
+     */
+    public static double intersect(
+            @NotNull Vector3f origin,
+            @NotNull Vector3f direction,
+            @NotNull Vector3f center,
+            @NotNull Quaternionf rotation,
+            float scale,
+            @NotNull ModelBoundingBox box,
+            double reach
+    ) {
+        if (scale <= 0) return -1;
+        var inverse = rotation.conjugate(new Quaternionf());
+        var o = origin.sub(center, new Vector3f()).rotate(inverse).div(scale);
+        var d = direction.rotate(inverse, new Vector3f()).div(scale);
+        var near = 0D;
+        var far = reach;
+        for (int axis = 0; axis < 3; axis++) {
+            var oa = o.get(axis);
+            var da = d.get(axis);
+            var min = axis == 0 ? box.minX() : axis == 1 ? box.minY() : box.minZ();
+            var max = axis == 0 ? box.maxX() : axis == 1 ? box.maxY() : box.maxZ();
+            if (Math.abs(da) < EPSILON) {
+                if (oa < min || oa > max) return -1;
+                continue;
+            }
+            var t1 = (min - oa) / da;
+            var t2 = (max - oa) / da;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+            if (near > far) return -1;
+        }
+        return near;
+    }
+
+    /**
+     * Gets the size of the axis-aligned box enclosing a rotated bounding box
+     * @param rotation box rotation
+     * @param scale box scale
+     * @param box centered bounding box
+     * @return enclosing size
+     */
+    public static @NotNull Vector3f enclosingSize(@NotNull Quaternionf rotation, float scale, @NotNull ModelBoundingBox box) {
+        var matrix = new Matrix3f().set(rotation);
+        var x = (float) box.x() * scale;
+        var y = (float) box.y() * scale;
+        var z = (float) box.z() * scale;
+        return new Vector3f(
+                Math.abs(matrix.m00) * x + Math.abs(matrix.m10) * y + Math.abs(matrix.m20) * z,
+                Math.abs(matrix.m01) * x + Math.abs(matrix.m11) * y + Math.abs(matrix.m21) * z,
+                Math.abs(matrix.m02) * x + Math.abs(matrix.m12) * y + Math.abs(matrix.m22) * z
+        );
+    }
+
+    /**
+     * Moves the interaction entity to the bone and syncs it with players.
+     * It is spawned to new viewers and removed from players who are no longer given.
+     * @param location source location
+     * @param players players viewing the model
+     */
+    public void sync(@NotNull Location location, @NotNull Collection<Player> players) {
+        if (removed) return;
+        var center = bone.hitBoxPosition();
+        var size = enclosingSize(bone.hitBoxViewRotation(), bone.hitBoxScale(), box);
+        var changed = interaction.update(
+                location.clone().add(center.x, center.y - size.y / 2, center.z),
+                Math.max(size.x, size.z),
+                size.y
+        );
+        var nms = BetterModel.plugin().nms();
+        var current = new HashSet<UUID>();
+        PacketBundler moveBundler = null;
+        for (Player player : players) {
+            if (!isTarget(player) || player == source()) continue;
+            current.add(player.getUniqueId());
+            if (viewers.putIfAbsent(player.getUniqueId(), player) == null) {
+                var bundler = nms.createBundler(2);
+                interaction.spawn(bundler);
+                bundler.send(player);
+                bundler.release();
+            } else if (changed) {
+                if (moveBundler == null) {
+                    moveBundler = nms.createBundler(2);
+                    interaction.move(moveBundler);
+                }
+                moveBundler.send(player);
+            }
+        }
+        if (moveBundler != null) moveBundler.release();
+        viewers.values().removeIf(player -> {
+            if (current.contains(player.getUniqueId())) return false;
+            if (player.isOnline()) removeInteraction(List.of(player));
+            return true;
+        });
+    }
+
+    private void removeInteraction(@NotNull Collection<Player> players) {
+        if (players.isEmpty()) return;
+        var bundler = BetterModel.plugin().nms().createBundler(1);
+        interaction.remove(bundler);
+        bundler.send(players);
+        bundler.release();
+    }
+
+    /**
+     * Makes player attack the source entity through this hit-box
+     * @param player player
+     */
+    public void attack(@NotNull Player player) {
+        if (removed || player == source()) return;
+        ATTACKING.set(this);
+        try {
+            BetterModel.plugin().nms().attack(player, source());
+        } finally {
+            ATTACKING.remove();
+        }
+    }
+
+    /**
+     * Handles damage event caused by attacking this hit-box
+     * @param event damage event
+     */
+    public void damage(@NotNull EntityDamageByEntityEvent event) {
+        if (!(event.getDamager() instanceof Player player)) return;
+        if (source().isInvulnerable()) {
+            event.setCancelled(true);
+            return;
+        }
+        var ds = new AttackSource(player, relativeLocation());
+        var modelEvent = new ModelDamagedEvent(this, ds, (float) event.getDamage());
+        if (!EventUtil.call(modelEvent) || listener.damage(this, ds, modelEvent.getDamage())) {
+            event.setCancelled(true);
+            return;
+        }
+        event.setDamage(modelEvent.getDamage());
+    }
+
+    private @NotNull Location relativeLocation() {
+        var position = relativePosition();
+        return new Location(source().getWorld(), position.x, position.y, position.z);
+    }
+
+    @Override
+    public void triggerInteract(@NotNull Player player, @NotNull ModelInteractionHand hand) {
+        if (removed || player == source()) return;
+        EventUtil.call(new ModelInteractEvent(player, this, hand));
+    }
+
+    @Override
+    public void triggerInteractAt(@NotNull Player player, @NotNull ModelInteractionHand hand, @NotNull Vector position) {
+        if (removed || player == source()) return;
+        EventUtil.call(new ModelInteractAtEvent(player, this, hand, position));
+    }
+
+    @Override
+    public void hide(@NotNull Player player) {
+        hidePlayerSet.add(player.getUniqueId());
+    }
+
+    @Override
+    public void show(@NotNull Player player) {
+        hidePlayerSet.remove(player.getUniqueId());
+    }
+
+    @Override
+    public @NotNull BoneName groupName() {
+        return name;
+    }
+
+    @Override
+    public @NotNull MountController mountController() {
+        return mountController;
+    }
+
+    @Override
+    public void mountController(@NotNull MountController controller) {
+        this.mountController = controller;
+    }
+
+    @Override
+    public boolean onWalk() {
+        return false;
+    }
+
+    @Override
+    public @NotNull Entity source() {
+        return entity.entity();
+    }
+
+    @Override
+    public void mount(@NotNull Entity entity) {
+    }
+
+    @Override
+    public boolean hasMountDriver() {
+        return false;
+    }
+
+    @Override
+    public void dismount(@NotNull Entity entity) {
+    }
+
+    @Override
+    public void dismountAll() {
+    }
+
+    @Override
+    public boolean forceDismount() {
+        return false;
+    }
+
+    @Override
+    public @NotNull Vector3f relativePosition() {
+        var location = source().getLocation();
+        return bone.hitBoxPosition().add((float) location.getX(), (float) location.getY(), (float) location.getZ());
+    }
+
+    @Override
+    public void removeHitBox() {
+        if (removed) return;
+        removed = true;
+        BY_ID.remove(interaction.id());
+        removeInteraction(List.copyOf(viewers.values()));
+        viewers.clear();
+        listener.remove(this);
+    }
+
+    @Override
+    public @NotNull HitBoxListener listener() {
+        return listener;
+    }
+
+    @Override
+    public @NotNull RenderedBone positionSource() {
+        return bone;
+    }
+
+    @Override
+    public int id() {
+        return interaction.id();
+    }
+
+    @Override
+    public @NotNull UUID uuid() {
+        return uuid;
+    }
+
+    private record AttackSource(@NotNull Player player, @NotNull Location location) implements ModelDamageSource {
+        @Override
+        public @NotNull Entity getCausingEntity() {
+            return player;
+        }
+
+        @Override
+        public @NotNull Entity getDirectEntity() {
+            return player;
+        }
+
+        @Override
+        public @NotNull Location getDamageLocation() {
+            return location;
+        }
+
+        @Override
+        public @NotNull Location getSourceLocation() {
+            return player.getLocation();
+        }
+
+        @Override
+        public boolean isIndirect() {
+            return false;
+        }
+
+        @Override
+        public float getFoodExhaustion() {
+            return 0.1F;
+        }
+
+        @Override
+        public boolean scalesWithDifficulty() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.data.blueprint;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import kr.toxicity.model.api.BetterModel;
+import kr.toxicity.model.api.animation.AnimationMovement;
+import kr.toxicity.model.api.animation.PackedKeyframes;
+import kr.toxicity.model.api.bone.BoneName;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * A lazy baker of blueprint animation.
+ * <p>
+ * Raw points are kept and baked on first use. Baked animations are held by a bounded cache,
+ * and the least recently used one is evicted unless it is warmed up.
+ * Removed keyframes of reduction are reported only by the first bake.
+ */
+@ApiStatus.Internal
+public final class AnimationBaker {
+
+    private static final Cache<AnimationBaker, Boolean> BAKED = Caffeine.newBuilder()
+            .maximumSize(capacity())
+            .executor(Runnable::run)
+            .<AnimationBaker, Boolean>removalListener((baker, value, cause) -> {
+                if (baker != null && cause.wasEvicted()) baker.evict();
+            })
+            .build();
+
+    private final float length;
+    private final List<BlueprintChildren> children;
+    private final Map<BoneName, BlueprintAnimator.AnimatorData> pointMap;
+    private final IntConsumer reducedFrame;
+
+    private volatile Baked baked;
+    private volatile boolean pinned;
+    private boolean reported;
+
+    /**
+     * Creates baker
+     * @param length animation length
+     * @param children children
+     * @param pointMap point map
+     * @param reducedFrame consumer of the number of removed keyframes
+     */
+    public AnimationBaker(
+            float length,
+            @NotNull List<BlueprintChildren> children,
+            @NotNull Map<BoneName, BlueprintAnimator.AnimatorData> pointMap,
+            @NotNull IntConsumer reducedFrame
+    ) {
+        this.length = length;
+        this.children = children;
+        this.pointMap = pointMap;
+        this.reducedFrame = reducedFrame;
+    }
+
+    /**
+     * Creates baker of an already baked animation.
+     * It is never evicted.
+     * @param length animation length
+     * @param baked baked animation
+     * @return baker
+     */
+    public static @NotNull AnimationBaker of(float length, @NotNull Baked baked) {
+        var baker = new AnimationBaker(length, Collections.emptyList(), Collections.emptyMap(), i -> {});
+        baker.baked = baked;
+        baker.pinned = true;
+        baker.reported = true;
+        return baker;
+    }
+
+    /**
+     * Baked animation
+     * @param animator group animator
+     * @param emptyAnimator empty animation ([0, 0, 0]).
+     */
+    public record Baked(
+            @NotNull @Unmodifiable Map<BoneName, BlueprintAnimator> animator,
+            @NotNull List<AnimationMovement> emptyAnimator
+    ) {
+        /**
+         * Packs empty animation
+         * @param animator group animator
+         * @param emptyAnimator empty animation ([0, 0, 0]).
+         */
+        public Baked {
+            emptyAnimator = PackedKeyframes.pack(emptyAnimator);
+        }
+    }
+
+    /**
+     * Gets baked animation or bakes it
+     * @return baked animation
+     */
+    public @NotNull Baked bake() {
+        var get = baked;
+        if (get != null) {
+            if (!pinned) BAKED.getIfPresent(this);
+            return get;
+        }
+        synchronized (this) {
+            get = baked;
+            if (get != null) return get;
+            var animator = AnimationGenerator.createMovements(length, children, pointMap, reported ? i -> {} : reducedFrame);
+            reported = true;
+            get = new Baked(
+                    animator,
+                    animator.isEmpty() ? AnimationMovement.withEmpty(length) : PackedKeyframes.pack(animator.values()
+                            .iterator()
+                            .next()
+                            .keyframe()).empty()
+            );
+            baked = get;
+        }
+        if (!pinned) BAKED.put(this, Boolean.TRUE);
+        return get;
+    }
+
+    /**
+     * Bakes this animation and keeps it from eviction
+     */
+    public void warmUp() {
+        pinned = true;
+        BAKED.invalidate(this);
+        bake();
+    }
+
+    /**
+     * Checks this animation is baked
+     * @return baked or not
+     */
+    public boolean isBaked() {
+        return baked != null;
+    }
+
+    private synchronized void evict() {
+        baked = null;
+    }
+
+    private static long capacity() {
+        var capacity = BetterModel.config().animationCacheSize();
+        return capacity > 0 ? capacity : Long.MAX_VALUE;
+    }
+
+    /**
+     * Gets the number of cached animations
+     * @return size
+     */
+    public static int cachedSize() {
+        return (int) BAKED.estimatedSize();
+    }
+
+    /**
+     * Evicts all cached animations and applies the current cache size
+     */
+    public static void clear() {
+        BAKED.asMap().keySet().forEach(AnimationBaker::evict);
+        BAKED.invalidateAll();
+        BAKED.policy().eviction().ifPresent(eviction -> eviction.setMaximum(capacity()));
+    }
+}
@@ -7,6 +7,8 @@
 package kr.toxicity.model.api.data.blueprint;
 
 import it.unimi.dsi.fastutil.floats.*;
+import kr.toxicity.model.api.BetterModel;
+import kr.toxicity.model.api.animation.AnimationMovement;
 import kr.toxicity.model.api.animation.VectorPoint;
 import kr.toxicity.model.api.bone.BoneName;
 import kr.toxicity.model.api.util.InterpolationUtil;
@@ -16,11 +18,9 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.joml.Vector3f;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
 import java.util.stream.Stream;
 
 import static kr.toxicity.model.api.util.CollectionUtil.*;
@@ -40,12 +40,14 @@ public final class AnimationGenerator {
      * @param length animation length
      * @param children children
      * @param pointMap point map
+     * @param reducedFrame consumer of the number of removed keyframes
      * @return generated map
      */
     public static @NotNull Map<BoneName, BlueprintAnimator> createMovements(
             float length,
             @NotNull List<BlueprintChildren> children,
-            @NotNull Map<BoneName, BlueprintAnimator.AnimatorData> pointMap
+            @NotNull Map<BoneName, BlueprintAnimator.AnimatorData> pointMap,
+            @NotNull IntConsumer reducedFrame
     ) {
         var floatSet = mapFloat(pointMap.values()
                 .stream()
@@ -56,17 +58,205 @@ public final class AnimationGenerator {
         var generator = new AnimationGenerator(pointMap, children);
         generator.interpolateRotation(floatSet);
         generator.interpolateStep(floatSet);
-        return mapValue(pointMap, v -> new BlueprintAnimator(
-                v.name(),
-                InterpolationUtil.buildAnimation(
-                        v.position(),
-                        v.rotation(),
-                        v.scale(),
-                        floatSet
-                )
+        var movements = mapValue(pointMap, v -> InterpolationUtil.buildAnimation(
+                v.position(),
+                v.rotation(),
+                v.scale(),
+                floatSet
+        ));
+        var epsilon = BetterModel.config().keyframeReductionEpsilon();
+        if (epsilon > 0) movements = generator.reduce(movements, epsilon, reducedFrame);
+        return associate(movements.entrySet(), Map.Entry::getKey, e -> new BlueprintAnimator(
+                pointMap.get(e.getKey()).name(),
+                e.getValue()
         ));
     }
 
+    /**
+     * Removes keyframes which the client's linear interpolation reproduces within epsilon.
+     * <p>
+     * Every animator shares the same keyframe time grid, so a keyframe is removed from all bones or from none.
+     * Keyframes around a skipped interpolation are kept, and the rotation between two kept keyframes never exceeds the rotation-interpolated bound.
+     * @param movements built movements
+     * @param epsilon allowed error (block for position and scale, radian for rotation)
+     * @param reducedFrame consumer of the number of removed keyframes
+     * @return reduced movements
+     */
+    private @NotNull Map<BoneName, List<AnimationMovement>> reduce(
+            @NotNull Map<BoneName, List<AnimationMovement>> movements,
+            float epsilon,
+            @NotNull IntConsumer reducedFrame
+    ) {
+        if (movements.isEmpty()) return movements;
+        var bones = new ArrayList<>(movements.keySet());
+        var boneSize = bones.size();
+        var size = movements.get(bones.getFirst()).size();
+        if (size < 3) return movements;
+        var time = new float[size];
+        var keep = new boolean[size];
+        var position = new float[boneSize][];
+        var scale = new float[boneSize][];
+        var rotation = new float[boneSize][];
+        var first = movements.get(bones.getFirst());
+        var sum = 0F;
+        for (int i = 0; i < size; i++) {
+            time[i] = sum += first.get(i).time();
+        }
+        for (int b = 0; b < boneSize; b++) {
+            var list = movements.get(bones.get(b));
+            position[b] = new float[size * 3];
+            scale[b] = new float[size * 3];
+            rotation[b] = new float[size * 3];
+            for (int i = 0; i < size; i++) {
+                var movement = list.get(i);
+                put(position[b], i, movement.position());
+                put(scale[b], i, movement.scale());
+                put(rotation[b], i, movement.rotation());
+                if (movement.skipInterpolation()) keep[i] = keep[Math.max(i - 1, 0)] = true;
+            }
+        }
+        var kept = reduceKeyframes(time, position, scale, rotation, parentIndex(bones), keep, epsilon);
+        if (kept == size) return movements;
+        reducedFrame.accept((size - kept) * boneSize);
+        var capacity = kept;
+        return mapValue(movements, list -> {
+            var result = new ArrayList<AnimationMovement>(capacity);
+            var delta = 0F;
+            for (int i = 0; i < size; i++) {
+                var movement = list.get(i);
+                delta += movement.time();
+                if (!keep[i]) continue;
+                var rounded = InterpolationUtil.roundTime(delta);
+                result.add(rounded == movement.time() ? movement : new AnimationMovement(
+                        rounded,
+                        movement.position(),
+                        movement.scale(),
+                        movement.rotation(),
+                        movement.skipInterpolation()
+                ));
+                delta = 0F;
+            }
+            return Collections.unmodifiableList(result);
+        });
+    }
+
+    /**
+     * Marks keyframes which should be kept after reduction.
+     * <p>
+     * Vectors are packed as three floats per keyframe, and rotation is in degree.
+     * @param time absolute time of each keyframe
+     * @param position position of each bone
+     * @param scale scale of each bone
+     * @param rotation rotation of each bone
+     * @param parent parent bone index of each bone, or -1 if it is root
+     * @param keep keyframes which must be kept, updated to all kept keyframes
+     * @param epsilon allowed error (block for position and scale, radian for rotation)
+     * @return the number of kept keyframes
+     */
+    public static int reduceKeyframes(
+            float[] time,
+            float[][] position,
+            float[][] scale,
+            float[][] rotation,
+            int[] parent,
+            boolean[] keep,
+            float epsilon
+    ) {
+        var size = time.length;
+        if (size < 3) {
+            Arrays.fill(keep, true);
+            return size;
+        }
+        keep[0] = keep[size - 1] = true;
+        var kept = 1;
+        var a = 0;
+        while (a < size - 1) {
+            var e = a + 1;
+            while (e < size - 1 && !keep[e] && canMerge(a, e + 1, time, position, scale, rotation, parent, epsilon)) e++;
+            keep[e] = true;
+            kept++;
+            a = e;
+        }
+        return kept;
+    }
+
+    private int[] parentIndex(@NotNull List<BoneName> bones) {
+        var dataIndex = new IdentityHashMap<BlueprintAnimator.AnimatorData, Integer>();
+        for (int b = 0; b < bones.size(); b++) {
+            dataIndex.put(pointMap.get(bones.get(b)), b);
+        }
+        var parent = new int[bones.size()];
+        Arrays.fill(parent, -1);
+        for (AnimationTree tree : trees) {
+            if (tree.data == null) continue;
+            var index = dataIndex.get(tree.data);
+            if (index == null) continue;
+            for (var p = tree.parent; p != null; p = p.parent) {
+                if (p.data == null) continue;
+                var parentIndex = dataIndex.get(p.data);
+                if (parentIndex == null) continue;
+                parent[index] = parentIndex;
+                break;
+            }
+        }
+        return parent;
+    }
+
+    private static boolean canMerge(
+            int a,
+            int e,
+            float[] time,
+            float[][] position,
+            float[][] scale,
+            float[][] rotation,
+            int[] parent,
+            float epsilon
+    ) {
+        var length = time[e] - time[a];
+        if (length <= 0) return false;
+        for (int b = 0; b < position.length; b++) {
+            var degree = 0F;
+            for (int p = b; p >= 0; p = parent[p]) {
+                degree += distance(rotation[p], a, e);
+            }
+            if (degree > 90) return false;
+            for (int j = a + 1; j < e; j++) {
+                var alpha = (time[j] - time[a]) / length;
+                if (error(position[b], a, e, j, alpha) > epsilon) return false;
+                if (error(scale[b], a, e, j, alpha) > epsilon) return false;
+                if (Math.toRadians(error(rotation[b], a, e, j, alpha)) > epsilon) return false;
+            }
+        }
+        return true;
+    }
+
+    private static void put(float[] array, int index, @Nullable Vector3f vector) {
+        if (vector == null) return;
+        var i3 = index * 3;
+        array[i3] = vector.x;
+        array[i3 + 1] = vector.y;
+        array[i3 + 2] = vector.z;
+    }
+
+    private static float distance(float[] array, int a, int e) {
+        var a3 = a * 3;
+        var e3 = e * 3;
+        var x = array[e3] - array[a3];
+        var y = array[e3 + 1] - array[a3 + 1];
+        var z = array[e3 + 2] - array[a3 + 2];
+        return (float) Math.sqrt(x * x + y * y + z * z);
+    }
+
+    private static float error(float[] array, int a, int e, int j, float alpha) {
+        var a3 = a * 3;
+        var e3 = e * 3;
+        var j3 = j * 3;
+        var x = array[j3] - InterpolationUtil.lerp(array[a3], array[e3], alpha);
+        var y = array[j3 + 1] - InterpolationUtil.lerp(array[a3 + 1], array[e3 + 1], alpha);
+        var z = array[j3 + 2] - InterpolationUtil.lerp(array[a3 + 2], array[e3 + 2], alpha);
+        return (float) Math.sqrt(x * x + y * y + z * z);
+    }
+
     private AnimationGenerator(
             @NotNull Map<BoneName, BlueprintAnimator.AnimatorData> pointMap,
             @NotNull List<BlueprintChildren> children
@@ -9,6 +9,7 @@ package kr.toxicity.model.api.data.blueprint;
 import kr.toxicity.model.api.animation.AnimationIterator;
 import kr.toxicity.model.api.animation.AnimationModifier;
 import kr.toxicity.model.api.animation.AnimationMovement;
+import kr.toxicity.model.api.animation.PackedKeyframes;
 import kr.toxicity.model.api.bone.BoneName;
 import kr.toxicity.model.api.script.BlueprintScript;
 import org.jetbrains.annotations.NotNull;
@@ -24,8 +25,7 @@ import java.util.Map;
  * @param loop loop mode
  * @param length frame length
  * @param override override
- * @param animator group animator
- * @param emptyAnimator empty animation ([0, 0, 0]).
+ * @param baker animation baker
  * @param script script
  */
 public record BlueprintAnimation(
@@ -33,11 +33,48 @@ public record BlueprintAnimation(
         @NotNull AnimationIterator.Type loop,
         float length,
         boolean override,
-        @NotNull @Unmodifiable Map<BoneName, BlueprintAnimator> animator,
-        @Nullable BlueprintScript script,
-        @NotNull List<AnimationMovement> emptyAnimator
+        @NotNull AnimationBaker baker,
+        @Nullable BlueprintScript script
 ) {
 
+    /**
+     * Creates animation from already baked animators
+     * @param name animation name
+     * @param loop loop mode
+     * @param length frame length
+     * @param override override
+     * @param animator group animator
+     * @param script script
+     * @param emptyAnimator empty animation ([0, 0, 0]).
+     */
+    public BlueprintAnimation(
+            @NotNull String name,
+            @NotNull AnimationIterator.Type loop,
+            float length,
+            boolean override,
+            @NotNull @Unmodifiable Map<BoneName, BlueprintAnimator> animator,
+            @Nullable BlueprintScript script,
+            @NotNull List<AnimationMovement> emptyAnimator
+    ) {
+        this(name, loop, length, override, AnimationBaker.of(length, new AnimationBaker.Baked(animator, emptyAnimator)), script);
+    }
+
+    /**
+     * Gets group animator. It is baked on first use.
+     * @return group animator
+     */
+    public @NotNull @Unmodifiable Map<BoneName, BlueprintAnimator> animator() {
+        return baker.bake().animator();
+    }
+
+    /**
+     * Gets empty animation ([0, 0, 0]). It is baked on first use.
+     * @return empty animation
+     */
+    public @NotNull List<AnimationMovement> emptyAnimator() {
+        return baker.bake().emptyAnimator();
+    }
+
     /**
      * Gets animation script
      * @param modifier modifier
@@ -53,6 +90,15 @@ public record BlueprintAnimation(
      * @return iterator
      */
     public @NotNull AnimationIterator<AnimationMovement> emptyIterator(@NotNull AnimationIterator.Type type) {
-        return type.create(emptyAnimator);
+        return type.create(emptyAnimator());
+    }
+
+    /**
+     * Gets iterator which steps over packed empty animation by index.
+     * @param type type
+     * @return iterator
+     */
+    public @NotNull AnimationIterator<PackedKeyframes.Frame> emptyFrameIterator(@NotNull AnimationIterator.Type type) {
+        return PackedKeyframes.pack(emptyAnimator()).iterator(type);
     }
 }
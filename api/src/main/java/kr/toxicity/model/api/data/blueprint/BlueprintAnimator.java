@@ -8,6 +8,7 @@ package kr.toxicity.model.api.data.blueprint;
 
 import kr.toxicity.model.api.animation.AnimationIterator;
 import kr.toxicity.model.api.animation.AnimationMovement;
+import kr.toxicity.model.api.animation.PackedKeyframes;
 import kr.toxicity.model.api.animation.VectorPoint;
 import kr.toxicity.model.api.data.raw.ModelKeyframe;
 import kr.toxicity.model.api.data.raw.ModelPlaceholder;
@@ -22,6 +23,8 @@ import java.util.stream.Stream;
 
 /**
  * A movement of each group.
+ * <p>
+ * Keyframes are stored as {@link PackedKeyframes}.
  * @param name group name
  * @param keyframe keyframes
  */
@@ -29,7 +32,14 @@ public record BlueprintAnimator(
         @NotNull String name,
         @NotNull @Unmodifiable List<AnimationMovement> keyframe
 ) {
-
+    /**
+     * Packs keyframes
+     * @param name group name
+     * @param keyframe keyframes
+     */
+    public BlueprintAnimator {
+        keyframe = PackedKeyframes.pack(keyframe);
+    }
 
     /**
      * Animation data
@@ -123,4 +133,13 @@ public record BlueprintAnimator(
     public @NotNull AnimationIterator<AnimationMovement> iterator(@NotNull AnimationIterator.Type type) {
         return type.create(keyframe);
     }
+
+    /**
+     * Gets loop iterator which steps over packed keyframes by index.
+     * @param type type
+     * @return iterator
+     */
+    public @NotNull AnimationIterator<PackedKeyframes.Frame> frameIterator(@NotNull AnimationIterator.Type type) {
+        return PackedKeyframes.pack(keyframe).iterator(type);
+    }
 }
@@ -14,6 +14,7 @@ import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 /**
@@ -23,6 +24,7 @@ import java.util.stream.Stream;
  * @param textures textures
  * @param group children group
  * @param animations animations
+ * @param reducedFrame the number of keyframes removed by keyframe reduction of baked animations
  */
 @ApiStatus.Internal
 public record ModelBlueprint(
@@ -30,7 +32,8 @@ public record ModelBlueprint(
         @NotNull ModelResolution resolution,
         @NotNull List<BlueprintTexture> textures,
         @NotNull List<BlueprintChildren> group,
-        @NotNull Map<String, BlueprintAnimation> animations
+        @NotNull Map<String, BlueprintAnimation> animations,
+        @NotNull AtomicInteger reducedFrame
 ) {
 
     /**
@@ -8,9 +8,8 @@ package kr.toxicity.model.api.data.raw;
 
 import kr.toxicity.model.api.BetterModel;
 import kr.toxicity.model.api.animation.AnimationIterator;
-import kr.toxicity.model.api.animation.AnimationMovement;
 import kr.toxicity.model.api.bone.BoneTagRegistry;
-import kr.toxicity.model.api.data.blueprint.AnimationGenerator;
+import kr.toxicity.model.api.data.blueprint.AnimationBaker;
 import kr.toxicity.model.api.data.blueprint.BlueprintAnimation;
 import kr.toxicity.model.api.data.blueprint.BlueprintAnimator;
 import kr.toxicity.model.api.data.blueprint.BlueprintChildren;
@@ -23,6 +22,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.function.IntConsumer;
 
 import static kr.toxicity.model.api.util.CollectionUtil.associate;
 
@@ -51,33 +51,36 @@ public record ModelAnimation(
      * @return converted animation
      */
     public @NotNull BlueprintAnimation toBlueprint(@NotNull List<BlueprintChildren> children, @NotNull ModelPlaceholder placeholder) {
+        return toBlueprint(children, placeholder, i -> {});
+    }
+
+    /**
+     * Converts raw animation to blueprint animation
+     * @param children children
+     * @param placeholder placeholder
+     * @param reducedFrame consumer of the number of removed keyframes
+     * @return converted animation
+     */
+    public @NotNull BlueprintAnimation toBlueprint(@NotNull List<BlueprintChildren> children, @NotNull ModelPlaceholder placeholder, @NotNull IntConsumer reducedFrame) {
         var map = new HashMap<>(animators());
         var script = Optional.ofNullable(map.remove("effects"))
                 .map(a -> toScript(a, placeholder))
                 .orElseGet(() -> BlueprintScript.fromEmpty(this));
-        var animators = AnimationGenerator.createMovements(length(), children, associate(
-                map.values().stream().filter(ModelAnimator::hasName),
-                e -> BoneTagRegistry.parse(e.name()),
-                e -> {
-                    var builder = new BlueprintAnimator.Builder(length());
-                    e.stream().forEach(keyframe -> builder.addFrame(keyframe, placeholder));
-                    return builder.build(name());
-                }
-        ));
         return new BlueprintAnimation(
                 name(),
                 loop(),
                 length(),
                 override(),
-                animators,
-                script,
-                animators.isEmpty() ? AnimationMovement.withEmpty(length()) : animators.values()
-                        .iterator()
-                        .next()
-                        .keyframe()
-                        .stream()
-                        .map(AnimationMovement::empty)
-                        .toList()
+                new AnimationBaker(length(), children, associate(
+                        map.values().stream().filter(ModelAnimator::hasName),
+                        e -> BoneTagRegistry.parse(e.name()),
+                        e -> {
+                            var builder = new BlueprintAnimator.Builder(length());
+                            e.stream().forEach(keyframe -> builder.addFrame(keyframe, placeholder));
+                            return builder.build(name());
+                        }
+                ), reducedFrame),
+                script
         );
     }
 
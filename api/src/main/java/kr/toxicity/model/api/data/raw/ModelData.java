@@ -17,6 +17,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static kr.toxicity.model.api.util.CollectionUtil.associate;
 import static kr.toxicity.model.api.util.CollectionUtil.mapToList;
@@ -59,12 +60,15 @@ public record ModelData(
         var placeholder = placeholder();
         var elementMap = associate(elements(), ModelElement::uuid);
         var group = mapToList(outliner(), children -> children.toBlueprint(elementMap));
+        var reducedFrame = new AtomicInteger();
+        var animationMap = associate(animations().stream().map(raw -> raw.toBlueprint(group, placeholder, reducedFrame::addAndGet)), BlueprintAnimation::name);
         return new ModelBlueprint(
                 name,
                 resolution(),
                 mapToList(textures(), ModelTexture::toBlueprint),
                 group,
-                associate(animations().stream().map(raw -> raw.toBlueprint(group, placeholder)), BlueprintAnimation::name)
+                animationMap,
+                reducedFrame
         );
     }
 
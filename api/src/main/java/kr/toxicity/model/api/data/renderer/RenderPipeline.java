@@ -9,6 +9,7 @@ package kr.toxicity.model.api.data.renderer;
 import kr.toxicity.model.api.BetterModel;
 import kr.toxicity.model.api.animation.*;
 import kr.toxicity.model.api.bone.BoneEventDispatcher;
+import kr.toxicity.model.api.bone.BoneHierarchy;
 import kr.toxicity.model.api.bone.BoneEventHandler;
 import kr.toxicity.model.api.bone.BoneName;
 import kr.toxicity.model.api.bone.RenderedBone;
@@ -20,6 +21,7 @@ import kr.toxicity.model.api.tracker.ModelRotation;
 import kr.toxicity.model.api.util.function.BonePredicate;
 import kr.toxicity.model.api.util.function.FloatSupplier;
 import lombok.Getter;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
@@ -46,10 +48,13 @@ public final class RenderPipeline implements BoneEventHandler {
 
     private final Map<BoneName, RenderedBone> boneMap;
     private final Map<BoneName, RenderedBone> flattenBoneMap;
+    @Getter
+    private final BoneHierarchy hierarchy;
     private final int displayAmount;
     private final Map<UUID, PlayerChannelHandler> playerMap = new ConcurrentHashMap<>();
     private final Set<UUID> hidePlayerSet = ConcurrentHashMap.newKeySet();
     private final BoneEventDispatcher eventDispatcher = new BoneEventDispatcher();
+    private final AnimationController animationController = new AnimationController();
 
     private Predicate<Player> viewFilter = p -> true;
     private Predicate<Player> hideFilter = p -> hidePlayerSet.contains(p.getUniqueId());
@@ -71,10 +76,10 @@ public final class RenderPipeline implements BoneEventHandler {
         this.source = source;
         this.boneMap = boneMap;
         //Bone
+        hierarchy = new BoneHierarchy(boneMap.values());
         flattenBoneMap = associate(
-                boneMap.values()
+                hierarchy.bones()
                         .stream()
-                        .flatMap(RenderedBone::flatten)
                         .peek(bone -> bone.extend(this)),
                 RenderedBone::name
         );
@@ -105,6 +110,10 @@ public final class RenderPipeline implements BoneEventHandler {
         return eventDispatcher;
     }
 
+    public @NotNull AnimationController animationController() {
+        return animationController;
+    }
+
     public void viewFilter(@NotNull Predicate<Player> filter) {
         this.viewFilter = this.viewFilter.and(Objects.requireNonNull(filter));
     }
@@ -142,22 +151,39 @@ public final class RenderPipeline implements BoneEventHandler {
         hitboxes().forEach(HitBox::removeHitBox);
         var bundler = createBundler();
         remove0(bundler);
-        if (bundler.isNotEmpty()) allPlayer().forEach(bundler::send);
+        if (bundler.isNotEmpty()) bundler.send(allPlayer().toList());
+        bundler.release();
         playerMap.clear();
     }
 
     public boolean rotate(@NotNull ModelRotation rotation, @NotNull PacketBundler bundler) {
         if (rotation.equals(this.rotation)) return false;
         this.rotation = rotation;
-        return matchTree(b -> b.rotate(rotation, bundler));
+        return hierarchy.match(b -> b.rotate(rotation, bundler));
     }
 
     public boolean tick(@NotNull PacketBundler bundler) {
-        return matchTree(b -> b.tick(bundler));
+        return tick(1, bundler);
+    }
+
+    public boolean tick(int delta, @NotNull PacketBundler bundler) {
+        var result = false;
+        for (int i = 0, size = hierarchy.size(); i < size; i++) {
+            if (hierarchy.bone(i).tick(delta, bundler)) result = true;
+        }
+        return result;
     }
 
     public boolean tick(@NotNull UUID uuid, @NotNull PacketBundler bundler) {
-        return matchTree(b -> b.tick(uuid, bundler));
+        return tick(uuid, 1, bundler);
+    }
+
+    public boolean tick(@NotNull UUID uuid, int delta, @NotNull PacketBundler bundler) {
+        var result = false;
+        for (int i = 0, size = hierarchy.size(); i < size; i++) {
+            if (hierarchy.bone(i).tick(uuid, delta, bundler)) result = true;
+        }
+        return result;
     }
 
     public void defaultPosition(@NotNull Supplier<Vector3f> movement) {
@@ -176,6 +202,14 @@ public final class RenderPipeline implements BoneEventHandler {
         return matchTree(predicate, (b, p) -> b.addPositionModifier(p, mapper));
     }
 
+    public boolean addRotationMutator(@NotNull BonePredicate predicate, @NotNull Consumer<Quaternionf> mutator) {
+        return matchTree(predicate, (b, p) -> b.addRotationMutator(p, mutator));
+    }
+
+    public boolean addPositionMutator(@NotNull BonePredicate predicate, @NotNull Consumer<Vector3f> mutator) {
+        return matchTree(predicate, (b, p) -> b.addPositionMutator(p, mutator));
+    }
+
     public @NotNull @Unmodifiable Collection<RenderedBone> bones() {
         return flattenBoneMap.values();
     }
@@ -193,12 +227,14 @@ public final class RenderPipeline implements BoneEventHandler {
 
     @ApiStatus.Internal
     public boolean animate(@NotNull Predicate<RenderedBone> filter, @NotNull BlueprintAnimation animation, @NotNull AnimationModifier modifier, @NotNull AnimationEventHandler eventHandler) {
-        return matchTree(AnimationPredicate.of(filter), (b, a) -> b.addAnimation(a, animation, modifier, eventHandler));
+        var bound = animationController.bind(modifier);
+        return matchTree(AnimationPredicate.of(filter), (b, a) -> b.addAnimation(a, animation, bound, eventHandler));
     }
 
     @ApiStatus.Internal
     public boolean replace(@NotNull Predicate<RenderedBone> filter, @NotNull String target, @NotNull BlueprintAnimation animation, @NotNull AnimationModifier modifier) {
-        return matchTree(AnimationPredicate.of(filter), (b, a) -> b.replaceAnimation(a, target, animation, modifier));
+        var bound = animationController.bind(modifier);
+        return matchTree(AnimationPredicate.of(filter), (b, a) -> b.replaceAnimation(a, target, animation, bound));
     }
 
     @ApiStatus.Internal
@@ -253,19 +289,11 @@ public final class RenderPipeline implements BoneEventHandler {
     }
 
     public boolean matchTree(@NotNull Predicate<RenderedBone> predicate) {
-        Objects.requireNonNull(predicate);
-        var result = false;
-        for (RenderedBone value : boneMap.values()) {
-            if (value.matchTree(predicate)) result = true;
-        }
-        return result;
+        return hierarchy.match(Objects.requireNonNull(predicate));
     }
 
     public void iterateTree(@NotNull Consumer<RenderedBone> consumer) {
-        Objects.requireNonNull(consumer);
-        for (RenderedBone value : boneMap.values()) {
-            value.iterateTree(consumer);
-        }
+        hierarchy.forEach(Objects.requireNonNull(consumer));
     }
 
     public <T> @Nullable T firstNotNull(@NotNull Function<RenderedBone, T> mapper) {
@@ -281,6 +309,17 @@ public final class RenderPipeline implements BoneEventHandler {
         return playerMap.size();
     }
 
+    public double nearestPlayerDistance(@NotNull Location location) {
+        var world = location.getWorld();
+        var min = Double.MAX_VALUE;
+        for (PlayerChannelHandler handler : playerMap.values()) {
+            var playerLocation = handler.player().getLocation();
+            if (playerLocation.getWorld() != world) continue;
+            min = Math.min(min, playerLocation.distanceSquared(location));
+        }
+        return min == Double.MAX_VALUE ? min : Math.sqrt(min);
+    }
+
     public @NotNull Stream<Player> allPlayer() {
         return playerMap.values().stream()
                 .map(PlayerChannelHandler::player);
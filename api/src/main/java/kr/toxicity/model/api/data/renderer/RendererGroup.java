@@ -56,6 +56,9 @@ public final class RendererGroup {
     @Getter
     private final @NotNull MountController mountController;
 
+    @Getter
+    private final @NotNull BoneFrameCache frameCache = new BoneFrameCache();
+
     /**
      * Creates group instance.
      * @param name name
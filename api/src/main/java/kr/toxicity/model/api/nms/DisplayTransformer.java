@@ -16,7 +16,9 @@ import org.joml.Vector3f;
 public interface DisplayTransformer {
 
     /**
-     * Transforms this display
+     * Transforms this display.
+     * <p>
+     * Given vectors are reused by the caller, so the implementation should copy them if it keeps them.
      * @param duration duration
      * @param position position
      * @param scale scale
@@ -0,0 +1,50 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.nms;
+
+import org.bukkit.Location;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Packet-only interaction entity.
+ * It has a client-side entity id and no server entity.
+ */
+public interface ModelInteraction {
+
+    /**
+     * Gets client-side entity id
+     * @return id
+     */
+    int id();
+
+    /**
+     * Moves and resizes this interaction
+     * @param location bottom center location
+     * @param width width
+     * @param height height
+     * @return whether something is changed
+     */
+    boolean update(@NotNull Location location, float width, float height);
+
+    /**
+     * Spawns this interaction
+     * @param bundler bundler
+     */
+    void spawn(@NotNull PacketBundler bundler);
+
+    /**
+     * Sends current position and size of this interaction
+     * @param bundler bundler
+     */
+    void move(@NotNull PacketBundler bundler);
+
+    /**
+     * Removes this interaction
+     * @param bundler bundler
+     */
+    void remove(@NotNull PacketBundler bundler);
+}
@@ -53,6 +53,12 @@ public interface NMS {
      */
     @NotNull ModelNametag createNametag(@NotNull RenderedBone bone);
 
+    /**
+     * Creates packet-only interaction entity
+     * @return interaction
+     */
+    @NotNull ModelInteraction createInteraction();
+
     /**
      * Creates model nametag
      * @param consumer consumer
@@ -139,6 +145,13 @@ public interface NMS {
      */
     @Nullable HitBox createHitBox(@NotNull EntityAdapter entity, @NotNull RenderedBone bone, @NotNull NamedBoundingBox namedBoundingBox, @NotNull MountController controller, @NotNull HitBoxListener listener);
 
+    /**
+     * Makes player attack target entity like a vanilla melee attack
+     * @param player player
+     * @param target target entity
+     */
+    void attack(@NotNull Player player, @NotNull Entity target);
+
     /**
      * Gets Spigot-mapped version of Minecraft vanilla code.
      * @return version
@@ -7,8 +7,11 @@
 package kr.toxicity.model.api.nms;
 
 import org.bukkit.entity.Player;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+
 /**
  * A packet bundler
  */
@@ -47,4 +50,21 @@ public interface PacketBundler {
      * @param onSuccess listener on success
      */
     void send(@NotNull Player player, @NotNull Runnable onSuccess);
+
+    /**
+     * Sends all packets to players.
+     * Packets may be encoded once and written to every player's channel.
+     * @param players target players
+     */
+    default void send(@NotNull Collection<Player> players) {
+        players.forEach(this::send);
+    }
+
+    /**
+     * Releases this bundler.
+     * It may be reused after every pending write is finished, so it should not be used after calling this.
+     */
+    @ApiStatus.Internal
+    default void release() {
+    }
 }
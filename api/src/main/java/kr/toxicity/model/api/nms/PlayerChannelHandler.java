@@ -10,6 +10,7 @@ import com.mojang.authlib.GameProfile;
 import kr.toxicity.model.api.BetterModel;
 import kr.toxicity.model.api.tracker.EntityTrackerRegistry;
 import org.bukkit.entity.Player;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -42,6 +43,14 @@ public interface PlayerChannelHandler extends AutoCloseable, Identifiable {
      */
     void sendEntityData(@NotNull EntityTrackerRegistry registry);
 
+    /**
+     * Marks some model-owning entity as viewed by this player or not
+     * @param id entity id
+     * @param viewed viewed or not
+     */
+    @ApiStatus.Internal
+    void viewModelEntity(int id, boolean viewed);
+
     @Override
     void close();
 }
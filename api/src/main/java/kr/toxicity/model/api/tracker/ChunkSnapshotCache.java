@@ -0,0 +1,119 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.tracker;
+
+import kr.toxicity.model.api.BetterModel;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A cache of read-only chunk snapshots used by off-thread block queries.
+ * <p>
+ * Snapshots are captured on the owning region thread and refreshed in the background once a block in the chunk is changed,
+ * or once they get old for changes without block events.
+ * A chunk without snapshot yet is reported as null, so callers should treat it as empty.
+ */
+@ApiStatus.Internal
+public final class ChunkSnapshotCache {
+
+    private static final long LIFETIME_NANOS = TimeUnit.SECONDS.toNanos(60);
+    private static final long EXPIRE_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final long CLEAN_UP_PERIOD = 20 * 30;
+    private static final Map<UUID, Map<Long, Entry>> WORLD_MAP = new ConcurrentHashMap<>();
+    private static final AtomicBoolean INITIALIZED = new AtomicBoolean();
+
+    /**
+     * No initializer
+     */
+    private ChunkSnapshotCache() {
+        throw new RuntimeException();
+    }
+
+    /**
+     * Gets cached snapshot of some chunk and requests a refresh if it is missing, changed or old
+     * @param world world
+     * @param chunkX chunk x
+     * @param chunkZ chunk z
+     * @return snapshot or null if not captured yet
+     */
+    public static @Nullable ChunkSnapshot snapshot(@NotNull World world, int chunkX, int chunkZ) {
+        if (INITIALIZED.compareAndSet(false, true)) BetterModel.plugin().scheduler().asyncTaskTimer(CLEAN_UP_PERIOD, CLEAN_UP_PERIOD, ChunkSnapshotCache::cleanUp);
+        var entry = WORLD_MAP.computeIfAbsent(world.getUID(), u -> new ConcurrentHashMap<>())
+                .computeIfAbsent(chunkKey(chunkX, chunkZ), k -> new Entry());
+        var now = System.nanoTime();
+        entry.accessed = now;
+        if ((entry.snapshot == null || entry.changed || now - entry.captured > LIFETIME_NANOS) && entry.requested.compareAndSet(false, true)) {
+            request(world, chunkX, chunkZ, entry);
+        }
+        return entry.snapshot;
+    }
+
+    /**
+     * Marks cached snapshot of some chunk as changed
+     * @param world world
+     * @param chunkX chunk x
+     * @param chunkZ chunk z
+     */
+    public static void invalidate(@NotNull World world, int chunkX, int chunkZ) {
+        var map = WORLD_MAP.get(world.getUID());
+        if (map == null) return;
+        var entry = map.get(chunkKey(chunkX, chunkZ));
+        if (entry != null) entry.changed = true;
+    }
+
+    /**
+     * Removes cached snapshot of some chunk
+     * @param world world
+     * @param chunkX chunk x
+     * @param chunkZ chunk z
+     */
+    public static void remove(@NotNull World world, int chunkX, int chunkZ) {
+        var map = WORLD_MAP.get(world.getUID());
+        if (map != null) map.remove(chunkKey(chunkX, chunkZ));
+    }
+
+    private static void request(@NotNull World world, int chunkX, int chunkZ, @NotNull Entry entry) {
+        var task = BetterModel.plugin().scheduler().task(new Location(world, chunkX << 4, 0, chunkZ << 4), () -> {
+            try {
+                entry.changed = false;
+                entry.snapshot = world.isChunkLoaded(chunkX, chunkZ) ? world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false) : null;
+                entry.captured = System.nanoTime();
+            } finally {
+                entry.requested.set(false);
+            }
+        });
+        if (task == null) entry.requested.set(false);
+    }
+
+    private static void cleanUp() {
+        var now = System.nanoTime();
+        WORLD_MAP.values().forEach(map -> map.values().removeIf(entry -> now - entry.accessed > EXPIRE_NANOS));
+        WORLD_MAP.values().removeIf(Map::isEmpty);
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static final class Entry {
+        private final AtomicBoolean requested = new AtomicBoolean();
+        private volatile ChunkSnapshot snapshot;
+        private volatile boolean changed;
+        private volatile long captured;
+        private volatile long accessed;
+    }
+}
@@ -16,6 +16,8 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.joml.Vector3f;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
 
@@ -24,6 +26,7 @@ import java.util.function.Consumer;
  */
 public final class DummyTracker extends Tracker {
     private volatile Location location;
+    private volatile double autoViewDistance;
 
     /**
      * Dummy tracker.
@@ -40,9 +43,23 @@ public final class DummyTracker extends Tracker {
         rotation(() -> new ModelRotation(this.location.getPitch(), this.location.getYaw()));
         pipeline.defaultPosition(FunctionUtil.asSupplier(new Vector3f()));
         preUpdateConsumer.accept(this);
+        DummyTrackerIndex.add(this, location);
+        handleCloseEvent((t, r) -> DummyTrackerIndex.remove(this, this.location));
         EventUtil.call(new CreateDummyTrackerEvent(this));
     }
 
+    /**
+     * Gets all dummy trackers within some radius
+     * @param center center location
+     * @param radius radius
+     * @return trackers
+     */
+    public static @NotNull List<DummyTracker> nearby(@NotNull Location center, double radius) {
+        var list = new ArrayList<DummyTracker>();
+        DummyTrackerIndex.nearby(center, radius, list::add);
+        return list;
+    }
+
     /**
      * Moves model to another location.
      * @param location location
@@ -51,7 +68,9 @@ public final class DummyTracker extends Tracker {
         Objects.requireNonNull(location, "location");
         if (this.location.equals(location)) return;
         synchronized (this) {
+            var previous = this.location;
             this.location = location;
+            if (!isClosed()) DummyTrackerIndex.move(this, previous, location);
             var bundler = pipeline.createBundler();
             pipeline.iterateTree(b -> b.teleport(location, bundler));
             if (bundler.isNotEmpty()) pipeline.allPlayer().forEach(bundler::send);
@@ -67,6 +86,24 @@ public final class DummyTracker extends Tracker {
         return location;
     }
 
+    /**
+     * Sets the distance to spawn this model to nearby players automatically.
+     * Players are removed again once they leave this distance by a margin, 0 disables it.
+     * @param distance distance
+     */
+    public void autoViewDistance(double distance) {
+        autoViewDistance = Math.max(distance, 0);
+        DummyTrackerIndex.autoView(this, autoViewDistance > 0 && !isClosed());
+    }
+
+    /**
+     * Gets the distance to spawn this model to nearby players automatically
+     * @return distance, 0 if disabled
+     */
+    public double autoViewDistance() {
+        return autoViewDistance;
+    }
+
     /**
      * Spawns model to some player
      * @param player player
@@ -0,0 +1,173 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.tracker;
+
+import kr.toxicity.model.api.BetterModel;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * A chunk-grid spatial index of dummy trackers.
+ * <p>
+ * Trackers are bucketed by the chunk of their location, so radius queries only visit nearby cells.
+ * Trackers with auto view distance are spawned to players entering that distance,
+ * and removed once players leave it by the hysteresis margin.
+ * Each player's check runs in a task scheduled on the player, so spawn events and location reads stay on the player's region thread.
+ */
+@ApiStatus.Internal
+public final class DummyTrackerIndex {
+
+    private static final int CELL_SHIFT = 4;
+    private static final int UPDATE_INTERVAL = Tracker.MINECRAFT_TICK_MULTIPLIER * 4;
+    private static final double HYSTERESIS = 1.25;
+    private static final Map<UUID, Map<Long, Set<DummyTracker>>> WORLD_MAP = new ConcurrentHashMap<>();
+    private static final Set<DummyTracker> AUTO_VIEW = ConcurrentHashMap.newKeySet();
+    private static final Set<UUID> SCHEDULED = ConcurrentHashMap.newKeySet();
+    private static final AtomicBoolean INITIALIZED = new AtomicBoolean();
+    private static int frame;
+
+    /**
+     * No initializer
+     */
+    private DummyTrackerIndex() {
+        throw new RuntimeException();
+    }
+
+    static void add(@NotNull DummyTracker tracker, @NotNull Location location) {
+        var world = location.getWorld();
+        if (world == null) return;
+        WORLD_MAP.computeIfAbsent(world.getUID(), u -> new ConcurrentHashMap<>())
+                .computeIfAbsent(cellKey(location), k -> ConcurrentHashMap.newKeySet())
+                .add(tracker);
+    }
+
+    static void remove(@NotNull DummyTracker tracker, @NotNull Location location) {
+        AUTO_VIEW.remove(tracker);
+        removeCell(tracker, location);
+    }
+
+    private static void removeCell(@NotNull DummyTracker tracker, @NotNull Location location) {
+        var world = location.getWorld();
+        if (world == null) return;
+        var map = WORLD_MAP.get(world.getUID());
+        if (map == null) return;
+        map.computeIfPresent(cellKey(location), (k, set) -> {
+            set.remove(tracker);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    static void move(@NotNull DummyTracker tracker, @NotNull Location from, @NotNull Location to) {
+        if (from.getWorld() == to.getWorld() && cellKey(from) == cellKey(to)) return;
+        removeCell(tracker, from);
+        add(tracker, to);
+    }
+
+    static void autoView(@NotNull DummyTracker tracker, boolean enabled) {
+        if (!enabled) {
+            AUTO_VIEW.remove(tracker);
+            return;
+        }
+        if (INITIALIZED.compareAndSet(false, true)) TrackerClock.clock().addFrameTask(DummyTrackerIndex::update);
+        AUTO_VIEW.add(tracker);
+    }
+
+    /**
+     * Iterates all trackers within some radius
+     * @param center center location
+     * @param radius radius
+     * @param consumer consumer
+     */
+    public static void nearby(@NotNull Location center, double radius, @NotNull Consumer<DummyTracker> consumer) {
+        var world = center.getWorld();
+        if (world == null) return;
+        var map = WORLD_MAP.get(world.getUID());
+        if (map == null || map.isEmpty()) return;
+        var radiusSquared = radius * radius;
+        var minX = (int) Math.floor(center.getX() - radius) >> CELL_SHIFT;
+        var maxX = (int) Math.floor(center.getX() + radius) >> CELL_SHIFT;
+        var minZ = (int) Math.floor(center.getZ() - radius) >> CELL_SHIFT;
+        var maxZ = (int) Math.floor(center.getZ() + radius) >> CELL_SHIFT;
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                var set = map.get(cellKey(x, z));
+                if (set == null) continue;
+                for (DummyTracker tracker : set) {
+                    var location = tracker.location();
+                    if (location.getWorld() == world && location.distanceSquared(center) <= radiusSquared) consumer.accept(tracker);
+                }
+            }
+        }
+    }
+
+    private static void update() {
+        if (++frame % UPDATE_INTERVAL != 0 || AUTO_VIEW.isEmpty()) return;
+        var maxDistance = 0D;
+        for (DummyTracker tracker : AUTO_VIEW) {
+            if (tracker.isClosed()) {
+                AUTO_VIEW.remove(tracker);
+                continue;
+            }
+            maxDistance = Math.max(maxDistance, tracker.autoViewDistance());
+            tracker.pipeline.allPlayer().forEach(player -> {
+                if (!player.isOnline()) BetterModel.plugin().scheduler().task(tracker.location(), () -> tracker.remove(player));
+            });
+        }
+        if (maxDistance <= 0) return;
+        var range = maxDistance;
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            var uuid = player.getUniqueId();
+            if (!SCHEDULED.add(uuid)) continue;
+            var task = BetterModel.plugin().scheduler().task(player, () -> {
+                try {
+                    update(player, range);
+                } finally {
+                    SCHEDULED.remove(uuid);
+                }
+            });
+            if (task == null) SCHEDULED.remove(uuid);
+        }
+    }
+
+    private static void update(@NotNull Player player, double maxDistance) {
+        if (!player.isOnline()) return;
+        var location = player.getLocation();
+        nearby(location, maxDistance, tracker -> {
+            var distance = tracker.autoViewDistance();
+            if (distance <= 0 || tracker.isSpawned(player)) return;
+            if (tracker.location().distanceSquared(location) <= distance * distance) tracker.spawn(player);
+        });
+        for (DummyTracker tracker : AUTO_VIEW) {
+            if (!tracker.isSpawned(player)) continue;
+            var center = tracker.location();
+            if (!isInRange(location, center.getWorld(), center, tracker.autoViewDistance() * HYSTERESIS)) tracker.remove(player);
+        }
+    }
+
+    private static boolean isInRange(@NotNull Location location, World world, @NotNull Location center, double distance) {
+        return location.getWorld() == world && location.distanceSquared(center) <= distance * distance;
+    }
+
+    private static long cellKey(@NotNull Location location) {
+        return cellKey(location.getBlockX() >> CELL_SHIFT, location.getBlockZ() >> CELL_SHIFT);
+    }
+
+    private static long cellKey(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+}
@@ -11,6 +11,7 @@ import kr.toxicity.model.api.animation.AnimationIterator;
 import kr.toxicity.model.api.animation.AnimationModifier;
 import kr.toxicity.model.api.bone.BoneTags;
 import kr.toxicity.model.api.bone.RenderedBone;
+import kr.toxicity.model.api.bone.VirtualHitBox;
 import kr.toxicity.model.api.data.renderer.RenderPipeline;
 import kr.toxicity.model.api.event.CreateEntityTrackerEvent;
 import kr.toxicity.model.api.event.DismountModelEvent;
@@ -38,7 +39,6 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
-import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
@@ -102,12 +102,19 @@ public class EntityTracker extends Tracker {
         //Animation
         pipeline.defaultPosition(FunctionUtil.throttleTick(() -> adapter.passengerPosition().mul(-1)));
         pipeline.scale(scale);
-        Function<Quaternionf, Quaternionf> headRotator = r -> r.mul(MathUtil.toQuaternion(bodyRotator.headRotation()));
-        pipeline.addRotationModifier(
+        Consumer<Quaternionf> headRotator = r -> {
+            var rotation = bodyRotator.headRotation();
+            r.rotateZYX(
+                    rotation.z * MathUtil.DEGREES_TO_RADIANS,
+                    rotation.y * MathUtil.DEGREES_TO_RADIANS,
+                    rotation.x * MathUtil.DEGREES_TO_RADIANS
+            );
+        };
+        pipeline.addRotationMutator(
                 BonePredicate.of(BonePredicate.State.NOT_SET, r -> r.name().tagged(BoneTags.HEAD)),
                 headRotator
         );
-        pipeline.addRotationModifier(
+        pipeline.addRotationMutator(
                 BonePredicate.of(BonePredicate.State.TRUE, r -> r.name().tagged(BoneTags.HEAD_WITH_CHILDREN)),
                 headRotator
         );
@@ -146,6 +153,12 @@ public class EntityTracker extends Tracker {
         tick((t, s) -> {
             if (damageTint.getAndDecrement() == 0) update(TrackerUpdateAction.previousTint());
         });
+        if (BetterModel.config().virtualHitBox()) tick((t, s) -> {
+            var players = pipeline.nonHidePlayer().toList();
+            for (RenderedBone bone : pipeline.bones()) {
+                if (bone.getHitBox() instanceof VirtualHitBox hitBox) hitBox.sync(location(), players);
+            }
+        });
         rotation(bodyRotator::bodyRotation);
         preUpdateConsumer.accept(this);
         EventUtil.call(new CreateEntityTrackerEvent(this));
@@ -6,22 +6,17 @@
  */
 package kr.toxicity.model.api.tracker;
 
-import com.google.common.collect.ImmutableList;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
-import it.unimi.dsi.fastutil.ints.Int2ReferenceMap;
-import it.unimi.dsi.fastutil.ints.Int2ReferenceOpenHashMap;
-import it.unimi.dsi.fastutil.objects.Object2ReferenceMap;
-import it.unimi.dsi.fastutil.objects.Object2ReferenceOpenHashMap;
 import kr.toxicity.model.api.BetterModel;
 import kr.toxicity.model.api.bone.RenderedBone;
 import kr.toxicity.model.api.config.DebugConfig;
 import kr.toxicity.model.api.nms.*;
 import kr.toxicity.model.api.util.CollectionUtil;
 import kr.toxicity.model.api.util.LogUtil;
+import kr.toxicity.model.api.util.StripedInt2ReferenceMap;
 import kr.toxicity.model.api.util.ThreadUtil;
-import kr.toxicity.model.api.util.lock.DuplexLock;
 import lombok.RequiredArgsConstructor;
 import org.bukkit.NamespacedKey;
 import org.bukkit.entity.Entity;
@@ -46,9 +41,10 @@ import java.util.stream.Stream;
  */
 public final class EntityTrackerRegistry {
 
-    private static final Object2ReferenceMap<UUID, EntityTrackerRegistry> UUID_REGISTRY_MAP = new Object2ReferenceOpenHashMap<>();
-    private static final Int2ReferenceMap<EntityTrackerRegistry> ID_REGISTRY_MAP = new Int2ReferenceOpenHashMap<>();
-    private static final DuplexLock REGISTRY_LOCK = new DuplexLock();
+    private static final Map<UUID, EntityTrackerRegistry> UUID_REGISTRY_MAP = new ConcurrentHashMap<>();
+    private static final StripedInt2ReferenceMap<EntityTrackerRegistry> ID_REGISTRY_MAP = new StripedInt2ReferenceMap<>();
+    private static final Collection<EntityTrackerRegistry> REGISTRIES = Collections.unmodifiableCollection(UUID_REGISTRY_MAP.values());
+    private static final Map<UUID, Set<EntityTrackerRegistry>> PLAYER_REGISTRY_MAP = new ConcurrentHashMap<>();
     /**
      * Tracker's namespace.
      */
@@ -72,7 +68,7 @@ public final class EntityTrackerRegistry {
      * @return registry or null
      */
     public static @Nullable EntityTrackerRegistry registry(@NotNull UUID uuid) {
-        return REGISTRY_LOCK.accessToReadLock(() -> UUID_REGISTRY_MAP.get(uuid));
+        return UUID_REGISTRY_MAP.get(uuid);
     }
 
     /**
@@ -81,7 +77,7 @@ public final class EntityTrackerRegistry {
      * @return registry or null
      */
     public static @Nullable EntityTrackerRegistry registry(int id) {
-        return REGISTRY_LOCK.accessToReadLock(() -> ID_REGISTRY_MAP.get(id));
+        return ID_REGISTRY_MAP.get(id);
     }
 
     /**
@@ -98,17 +94,64 @@ public final class EntityTrackerRegistry {
      * @param consumer consumer
      */
     public static void registries(@NotNull Consumer<EntityTrackerRegistry> consumer) {
-        for (EntityTrackerRegistry registry : registries()) {
+        for (EntityTrackerRegistry registry : registryView()) {
             consumer.accept(registry);
         }
     }
 
     /**
-     * Gets all registries
+     * Gets a copy of all registries
+     * @deprecated Use EntityTrackerRegistry#registryView or EntityTrackerRegistry#registries(Consumer) instead.
      * @return all registries
      */
+    @Deprecated
     public static @NotNull @Unmodifiable List<EntityTrackerRegistry> registries() {
-        return REGISTRY_LOCK.accessToReadLock(() -> ImmutableList.copyOf(UUID_REGISTRY_MAP.values()));
+        return List.copyOf(REGISTRIES);
+    }
+
+    /**
+     * Gets all registries.
+     * <p>
+     * It is a weakly consistent view, not a copy.
+     * @return all registries
+     */
+    public static @NotNull @Unmodifiable Collection<EntityTrackerRegistry> registryView() {
+        return REGISTRIES;
+    }
+
+    /**
+     * Uses all registries spawned to some player
+     * @param player player's uuid
+     * @param consumer consumer
+     */
+    public static void registries(@NotNull UUID player, @NotNull Consumer<EntityTrackerRegistry> consumer) {
+        for (EntityTrackerRegistry registry : registries(player)) {
+            consumer.accept(registry);
+        }
+    }
+
+    /**
+     * Gets all registries spawned to some player.
+     * <p>
+     * It is a weakly consistent view, not a copy.
+     * @param player player's uuid
+     * @return registries
+     */
+    public static @NotNull @Unmodifiable Collection<EntityTrackerRegistry> registries(@NotNull UUID player) {
+        var set = PLAYER_REGISTRY_MAP.get(player);
+        return set != null ? Collections.unmodifiableSet(set) : Collections.emptySet();
+    }
+
+    /**
+     * Gets all trackers spawned to some player
+     * @param player player
+     * @return trackers
+     */
+    public static @NotNull Stream<EntityTracker> trackers(@NotNull Player player) {
+        return registries(player.getUniqueId())
+                .stream()
+                .flatMap(registry -> registry.trackers().stream())
+                .filter(tracker -> tracker.isSpawned(player));
     }
 
     /**
@@ -121,17 +164,10 @@ public final class EntityTrackerRegistry {
         var uuid = entity.getUniqueId();
         var get = registry(uuid);
         if (get != null) return get;
-        EntityTrackerRegistry registry;
-        synchronized (uuid) {
-            var get2 = registry(uuid);
-            if (get2 != null) return get2;
-            registry = new EntityTrackerRegistry(entity);
-            REGISTRY_LOCK.accessToWriteLock(() -> {
-                UUID_REGISTRY_MAP.put(registry.uuid, registry);
-                ID_REGISTRY_MAP.put(registry.id, registry);
-                return null;
-            });
-        }
+        var registry = new EntityTrackerRegistry(entity);
+        var previous = UUID_REGISTRY_MAP.putIfAbsent(uuid, registry);
+        if (previous != null) return previous;
+        ID_REGISTRY_MAP.put(registry.id, registry);
         registry.initialLoad();
         return registry;
     }
@@ -314,18 +350,18 @@ public final class EntityTrackerRegistry {
 
     private boolean close(@NotNull Tracker.CloseReason reason) {
         if (!closed.compareAndSet(false, true)) return false;
-        viewedPlayer().forEach(value -> value.sendEntityData(this));
+        viewedPlayer().forEach(value -> {
+            value.sendEntityData(this);
+            unview(value);
+        });
         viewedPlayerMap.clear();
         for (EntityTracker value : trackers()) {
             value.close(reason);
         }
         if (!reason.shouldBeSave()) runSync(() -> entity.getPersistentDataContainer().remove(TRACKING_ID));
-        REGISTRY_LOCK.accessToWriteLock(() -> {
-            UUID_REGISTRY_MAP.remove(uuid);
-            ID_REGISTRY_MAP.remove(id);
-            if (entity instanceof Player player) player.updateInventory();
-            return null;
-        });
+        UUID_REGISTRY_MAP.remove(uuid, this);
+        ID_REGISTRY_MAP.remove(id, this);
+        if (entity instanceof Player player) player.updateInventory();
         LogUtil.debug(DebugConfig.DebugOption.TRACKER, () -> uuid + "'s tracker registry has been removed. (" + UUID_REGISTRY_MAP.size() + ")");
         return true;
     }
@@ -365,6 +401,7 @@ public final class EntityTrackerRegistry {
         for (EntityTracker value : trackers()) {
             if (!value.forRemoval()) value.despawn();
         }
+        viewedPlayer().forEach(this::unview);
         viewedPlayerMap.clear();
     }
 
@@ -400,6 +437,18 @@ public final class EntityTrackerRegistry {
         } else BetterModel.plugin().scheduler().task(entity.getLocation(), runnable);
     }
 
+    /**
+     * Gets the highest spawn priority of trackers in this registry
+     * @return priority
+     */
+    public int priority() {
+        var priority = Integer.MIN_VALUE;
+        for (EntityTracker tracker : trackers()) {
+            priority = Math.max(priority, tracker.modifier().priority());
+        }
+        return priority == Integer.MIN_VALUE ? 0 : priority;
+    }
+
     /**
      * Gets all displays as stream
      * @return all displays
@@ -432,9 +481,11 @@ public final class EntityTrackerRegistry {
      * @return is spawned
      */
     public boolean isSpawned(@NotNull UUID uuid) {
-        return viewedPlayerMap.containsKey(uuid) && trackers()
-                .stream()
-                .anyMatch(t -> t.isSpawned(uuid));
+        if (!viewedPlayerMap.containsKey(uuid)) return false;
+        for (EntityTracker tracker : trackers()) {
+            if (tracker.isSpawned(uuid)) return true;
+        }
+        return false;
     }
 
     /**
@@ -447,15 +498,27 @@ public final class EntityTrackerRegistry {
         return spawn(player, false);
     }
     /**
-     * Spawns not spawned tracker to some player
+     * Spawns not spawned tracker to some player.
+     * It is queued to the player's spawn queue if spawn budget is enabled.
      * @param player target player
      * @return success
      */
     public boolean spawnIfNotSpawned(@NotNull Player player) {
         initialLoad();
-        return spawn(player, true);
+        return PlayerSpawnQueue.offer(player, this, true) || spawn(player, true);
     }
-    private boolean spawn(@NotNull Player player, boolean shouldNotSpawned) {
+
+    /**
+     * Spawns this tracker to some player through the player's spawn queue
+     * @param player target player
+     * @return success
+     */
+    public boolean scheduleSpawn(@NotNull Player player) {
+        initialLoad();
+        return PlayerSpawnQueue.offer(player, this, false) || spawn(player, false);
+    }
+
+    boolean spawn(@NotNull Player player, boolean shouldNotSpawned) {
         var handler = BetterModel.plugin()
                 .playerManager()
                 .player(player.getUniqueId());
@@ -470,11 +533,30 @@ public final class EntityTrackerRegistry {
         if (bundler.isEmpty()) return false;
         BetterModel.plugin().nms().mount(this, bundler);
         cache.spawn(bundler);
+        PlayerSpawnQueue.markVisible(player, this);
         return true;
     }
 
     private @NotNull PlayerChannelCache registerPlayer(@NotNull PlayerChannelHandler handler) {
-        return viewedPlayerMap.computeIfAbsent(handler.uuid(), u -> new PlayerChannelCache(handler));
+        return viewedPlayerMap.computeIfAbsent(handler.uuid(), u -> {
+            view(handler);
+            return new PlayerChannelCache(handler);
+        });
+    }
+
+    private void view(@NotNull PlayerChannelHandler handler) {
+        handler.viewModelEntity(id, true);
+        PLAYER_REGISTRY_MAP.compute(handler.uuid(), (u, set) -> {
+            if (set == null) set = ConcurrentHashMap.newKeySet();
+            set.add(this);
+            return set;
+        });
+    }
+
+    private void unview(@NotNull PlayerChannelHandler handler) {
+        handler.viewModelEntity(id, false);
+        PlayerSpawnQueue.cancel(handler.uuid(), this);
+        PLAYER_REGISTRY_MAP.computeIfPresent(handler.uuid(), (u, set) -> set.remove(this) && set.isEmpty() ? null : set);
     }
 
     /**
@@ -491,9 +573,11 @@ public final class EntityTrackerRegistry {
      * @return success
      */
     public boolean remove(@NotNull Player player) {
+        PlayerSpawnQueue.cancel(player.getUniqueId(), this);
         var cache = viewedPlayerMap.remove(player.getUniqueId());
         if (cache == null) return false;
         var handler = cache.channelHandler;
+        unview(handler);
         handler.sendEntityData(this);
         for (EntityTracker value : trackers()) {
             if (!value.forRemoval() && value.isSpawned(player)) value.remove(handler.player());
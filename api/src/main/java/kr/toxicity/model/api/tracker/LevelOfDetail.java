@@ -0,0 +1,97 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.tracker;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Level of detail policy of tracker.
+ * <p>
+ * It decides how often a tracker's animation is ticked by the distance to its nearest viewer.
+ * Only {@link #NONE} and {@link Distance} are saved to tracker data, other policies are restored as {@link #NONE}.
+ */
+@FunctionalInterface
+public interface LevelOfDetail {
+    /**
+     * Always ticks animation every tracker frame
+     */
+    LevelOfDetail NONE = distance -> 1;
+    /**
+     * Ticks animation every 10/20/50/100 ms by the distance to the nearest viewer
+     */
+    LevelOfDetail DISTANCE = distance(16, 32, 64);
+
+    /**
+     * Gets the animation tick interval
+     * @param distance distance to the nearest viewer
+     * @return interval in tracker frames
+     */
+    int interval(double distance);
+
+    /**
+     * Creates distance policy which ticks animation every 10/20/50/100 ms
+     * @param near max distance ticked every 10 ms
+     * @param middle max distance ticked every 20 ms
+     * @param far max distance ticked every 50 ms
+     * @return level of detail
+     */
+    static @NotNull LevelOfDetail distance(double near, double middle, double far) {
+        return new Distance(near, middle, far);
+    }
+
+    /**
+     * Serializes level of detail as JSON
+     * @param levelOfDetail level of detail
+     * @return JSON element
+     */
+    static @NotNull JsonElement serialize(@NotNull LevelOfDetail levelOfDetail) {
+        if (levelOfDetail instanceof Distance distance) {
+            var json = new JsonObject();
+            json.addProperty("near", distance.near);
+            json.addProperty("middle", distance.middle);
+            json.addProperty("far", distance.far);
+            return json;
+        }
+        return new JsonPrimitive("none");
+    }
+
+    /**
+     * Deserializes level of detail from JSON
+     * @param element JSON element
+     * @return level of detail
+     */
+    static @NotNull LevelOfDetail deserialize(@NotNull JsonElement element) {
+        if (element.isJsonObject()) {
+            var json = element.getAsJsonObject();
+            return distance(
+                    json.getAsJsonPrimitive("near").getAsDouble(),
+                    json.getAsJsonPrimitive("middle").getAsDouble(),
+                    json.getAsJsonPrimitive("far").getAsDouble()
+            );
+        }
+        return element.isJsonPrimitive() && element.getAsString().equals("distance") ? DISTANCE : NONE;
+    }
+
+    /**
+     * Distance policy
+     * @param near max distance ticked every 10 ms
+     * @param middle max distance ticked every 20 ms
+     * @param far max distance ticked every 50 ms
+     */
+    record Distance(double near, double middle, double far) implements LevelOfDetail {
+        @Override
+        public int interval(double distance) {
+            if (distance < near) return 1;
+            if (distance < middle) return 2;
+            if (distance < far) return 5;
+            return 10;
+        }
+    }
+}
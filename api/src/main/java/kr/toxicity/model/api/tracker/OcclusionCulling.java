@@ -0,0 +1,199 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.tracker;
+
+import kr.toxicity.model.api.BetterModel;
+import kr.toxicity.model.api.bone.RenderedBone;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+import static java.lang.Math.*;
+
+/**
+ * A block occlusion culling of one tracker.
+ * <p>
+ * Rays from each viewer's eye to the model's bounding box are traced against cached chunk snapshots on the tracker thread.
+ * Viewers who can't see any sample point are suppressed from animation packets,
+ * and receive a full update once the model becomes visible again.
+ */
+@ApiStatus.Internal
+public final class OcclusionCulling implements Predicate<Player> {
+
+    private static final int UPDATE_INTERVAL = 4;
+    private static final int MAX_STEPS = 256;
+    private static final float PADDING = 0.25F;
+
+    private final Tracker tracker;
+    private final Set<UUID> suppressed = ConcurrentHashMap.newKeySet();
+    private final double[] points = new double[27];
+    private int countdown = ThreadLocalRandom.current().nextInt(UPDATE_INTERVAL) + 1;
+
+    /**
+     * Creates occlusion culling
+     * @param tracker tracker
+     */
+    public OcclusionCulling(@NotNull Tracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public boolean test(@NotNull Player player) {
+        return !suppressed.contains(player.getUniqueId());
+    }
+
+    /**
+     * Checks some player is suppressed
+     * @param uuid player's uuid
+     * @return suppressed or not
+     */
+    public boolean isSuppressed(@NotNull UUID uuid) {
+        return suppressed.contains(uuid);
+    }
+
+    /**
+     * Removes some player from suppressed viewers
+     * @param uuid player's uuid
+     */
+    public void remove(@NotNull UUID uuid) {
+        suppressed.remove(uuid);
+    }
+
+    /**
+     * Updates occlusion of all viewers, should be called once per server tick in tracker thread
+     */
+    public void update() {
+        if (!BetterModel.config().occlusionCulling()) {
+            if (!suppressed.isEmpty()) tracker.pipeline.allPlayer().forEach(this::reveal);
+            return;
+        }
+        if (--countdown > 0) return;
+        countdown = UPDATE_INTERVAL;
+        var location = tracker.location();
+        var world = location.getWorld();
+        if (world == null) return;
+        samplePoints(location.getX(), location.getY(), location.getZ());
+        tracker.pipeline.allPlayer().forEach(player -> {
+            var eye = player.getEyeLocation();
+            if (eye.getWorld() != world || isVisible(world, eye.getX(), eye.getY(), eye.getZ())) reveal(player);
+            else suppressed.add(player.getUniqueId());
+        });
+    }
+
+    private void reveal(@NotNull Player player) {
+        if (!suppressed.remove(player.getUniqueId())) return;
+        var bundler = tracker.pipeline.createBundler();
+        tracker.pipeline.iterateTree(bone -> bone.forceUpdate(bundler));
+        if (bundler.isNotEmpty()) bundler.send(player);
+        bundler.release();
+    }
+
+    private void samplePoints(double x, double y, double z) {
+        float minX = 0, minY = 0, minZ = 0, maxX = 0, maxY = 0, maxZ = 0;
+        for (RenderedBone bone : tracker.pipeline.bones()) {
+            var position = bone.worldPosition();
+            minX = min(minX, position.x);
+            minY = min(minY, position.y);
+            minZ = min(minZ, position.z);
+            maxX = max(maxX, position.x);
+            maxY = max(maxY, position.y);
+            maxZ = max(maxZ, position.z);
+        }
+        minX -= PADDING;
+        minY -= PADDING;
+        minZ -= PADDING;
+        maxX += PADDING;
+        maxY += PADDING;
+        maxZ += PADDING;
+        points[0] = x + (minX + maxX) / 2;
+        points[1] = y + (minY + maxY) / 2;
+        points[2] = z + (minZ + maxZ) / 2;
+        for (int i = 0; i < 8; i++) {
+            var index = (i + 1) * 3;
+            points[index] = x + ((i & 1) == 0 ? minX : maxX);
+            points[index + 1] = y + ((i & 2) == 0 ? minY : maxY);
+            points[index + 2] = z + ((i & 4) == 0 ? minZ : maxZ);
+        }
+    }
+
+    private boolean isVisible(@NotNull World world, double x, double y, double z) {
+        var blocks = new BlockReader(world);
+        for (int i = 0; i < points.length; i += 3) {
+            if (!blocks.isOccluded(x, y, z, points[i], points[i + 1], points[i + 2])) return true;
+        }
+        return false;
+    }
+
+    private static final class BlockReader {
+        private final World world;
+        private final int minHeight;
+        private final int maxHeight;
+        private int chunkX = Integer.MIN_VALUE;
+        private int chunkZ = Integer.MIN_VALUE;
+        private ChunkSnapshot snapshot;
+
+        private BlockReader(@NotNull World world) {
+            this.world = world;
+            minHeight = world.getMinHeight();
+            maxHeight = world.getMaxHeight();
+        }
+
+        private boolean isOccluding(int x, int y, int z) {
+            if (y < minHeight || y >= maxHeight) return false;
+            var cx = x >> 4;
+            var cz = z >> 4;
+            if (cx != chunkX || cz != chunkZ) {
+                chunkX = cx;
+                chunkZ = cz;
+                snapshot = ChunkSnapshotCache.snapshot(world, cx, cz);
+            }
+            return snapshot != null && snapshot.getBlockType(x & 15, y, z & 15).isOccluding();
+        }
+
+        private boolean isOccluded(double sx, double sy, double sz, double tx, double ty, double tz) {
+            var dx = tx - sx;
+            var dy = ty - sy;
+            var dz = tz - sz;
+            int x = (int) floor(sx), y = (int) floor(sy), z = (int) floor(sz);
+            int ex = (int) floor(tx), ey = (int) floor(ty), ez = (int) floor(tz);
+            int stepX = dx > 0 ? 1 : -1, stepY = dy > 0 ? 1 : -1, stepZ = dz > 0 ? 1 : -1;
+            var deltaX = dx == 0 ? Double.MAX_VALUE : abs(1 / dx);
+            var deltaY = dy == 0 ? Double.MAX_VALUE : abs(1 / dy);
+            var deltaZ = dz == 0 ? Double.MAX_VALUE : abs(1 / dz);
+            var maxX = dx == 0 ? Double.MAX_VALUE : (dx > 0 ? x + 1 - sx : sx - x) * deltaX;
+            var maxY = dy == 0 ? Double.MAX_VALUE : (dy > 0 ? y + 1 - sy : sy - y) * deltaY;
+            var maxZ = dz == 0 ? Double.MAX_VALUE : (dz > 0 ? z + 1 - sz : sz - z) * deltaZ;
+            for (int i = 0; i < MAX_STEPS; i++) {
+                double t;
+                if (maxX < maxY && maxX < maxZ) {
+                    t = maxX;
+                    x += stepX;
+                    maxX += deltaX;
+                } else if (maxY < maxZ) {
+                    t = maxY;
+                    y += stepY;
+                    maxY += deltaY;
+                } else {
+                    t = maxZ;
+                    z += stepZ;
+                    maxZ += deltaZ;
+                }
+                if (t > 1 || (x == ex && y == ey && z == ez)) return false;
+                if (isOccluding(x, y, z)) return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.tracker;
+
+import kr.toxicity.model.api.BetterModel;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A per-player queue of pending model spawns.
+ * <p>
+ * Pending registries are released by priority and then nearest first, bounded by a display budget per tick,
+ * so a player entering a crowded area receives models over several ticks instead of all at once.
+ * They are released in a task scheduled on the player, so spawn events and location reads stay on the player's region thread.
+ * If the visible model budget is enabled, registries which don't fit are held in the queue,
+ * and visible ones outranked by pending ones are removed back to the queue.
+ */
+@ApiStatus.Internal
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PlayerSpawnQueue {
+
+    private static final Map<UUID, PlayerSpawnQueue> QUEUE_MAP = new ConcurrentHashMap<>();
+    private static final AtomicBoolean INITIALIZED = new AtomicBoolean();
+    private static final int REBALANCE_INTERVAL = Tracker.MINECRAFT_TICK_MULTIPLIER * 4;
+    private static final double VISIBLE_BIAS = 0.64;
+    private static final Comparator<Candidate> CANDIDATE_COMPARATOR = Comparator.comparingInt(Candidate::priority)
+            .reversed()
+            .thenComparingDouble(Candidate::score);
+    private static int frame;
+
+    private final Player player;
+    private final Map<EntityTrackerRegistry, Boolean> pending = new ConcurrentHashMap<>();
+    private final Map<EntityTrackerRegistry, Integer> visible = new ConcurrentHashMap<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * Offers registry to some player's spawn queue
+     * @param player target player
+     * @param registry registry
+     * @param shouldNotSpawned whether only not spawned trackers should be spawned
+     * @return whether it is queued, false if both spawn budget and visible model budget are disabled
+     */
+    public static boolean offer(@NotNull Player player, @NotNull EntityTrackerRegistry registry, boolean shouldNotSpawned) {
+        var config = BetterModel.config();
+        if (config.spawnBudget() <= 0 && config.visibleModelBudget() <= 0) return false;
+        if (INITIALIZED.compareAndSet(false, true)) TrackerClock.clock().addFrameTask(PlayerSpawnQueue::drainAll);
+        QUEUE_MAP.compute(player.getUniqueId(), (u, queue) -> {
+            if (queue == null) queue = new PlayerSpawnQueue(player);
+            queue.pending.merge(registry, shouldNotSpawned, Boolean::logicalAnd);
+            return queue;
+        });
+        return true;
+    }
+
+    /**
+     * Marks registry as visible to some player
+     * @param player target player
+     * @param registry registry
+     */
+    public static void markVisible(@NotNull Player player, @NotNull EntityTrackerRegistry registry) {
+        if (BetterModel.config().visibleModelBudget() <= 0) return;
+        QUEUE_MAP.compute(player.getUniqueId(), (u, queue) -> {
+            if (queue == null) queue = new PlayerSpawnQueue(player);
+            queue.visible.put(registry, cost(registry));
+            return queue;
+        });
+    }
+
+    /**
+     * Cancels pending spawn of some registry and forgets its visibility
+     * @param uuid player's uuid
+     * @param registry registry
+     */
+    public static void cancel(@NotNull UUID uuid, @NotNull EntityTrackerRegistry registry) {
+        var queue = QUEUE_MAP.get(uuid);
+        if (queue == null) return;
+        queue.pending.remove(registry);
+        queue.visible.remove(registry);
+    }
+
+    private static int cost(@NotNull EntityTrackerRegistry registry) {
+        return (int) Math.max(1, registry.displays().count());
+    }
+
+    private static void drainAll() {
+        if (++frame % Tracker.MINECRAFT_TICK_MULTIPLIER != 0 || QUEUE_MAP.isEmpty()) return;
+        var config = BetterModel.config();
+        var spawnBudget = config.spawnBudget() > 0 ? config.spawnBudget() : Integer.MAX_VALUE;
+        var visibleBudget = config.visibleModelBudget();
+        var rebalance = visibleBudget > 0 && frame % REBALANCE_INTERVAL == 0;
+        for (PlayerSpawnQueue queue : QUEUE_MAP.values()) {
+            if (!queue.player.isOnline()) {
+                queue.pending.clear();
+                queue.visible.clear();
+                queue.removeIfEmpty();
+                continue;
+            }
+            if (!queue.scheduled.compareAndSet(false, true)) continue;
+            var task = BetterModel.plugin().scheduler().task(queue.player, () -> {
+                try {
+                    queue.drain(spawnBudget, visibleBudget, rebalance);
+                } finally {
+                    queue.scheduled.set(false);
+                    queue.removeIfEmpty();
+                }
+            });
+            if (task == null) queue.scheduled.set(false);
+        }
+    }
+
+    private void removeIfEmpty() {
+        QUEUE_MAP.computeIfPresent(player.getUniqueId(), (u, q) -> q.pending.isEmpty() && q.visible.isEmpty() ? null : q);
+    }
+
+    private void drain(int spawnBudget, int visibleBudget, boolean rebalance) {
+        if (visibleBudget <= 0) visible.clear();
+        if (pending.isEmpty() && !rebalance) return;
+        var location = player.getLocation();
+        var world = location.getWorld();
+        var candidates = new ArrayList<Candidate>(pending.size() + (rebalance ? visible.size() : 0));
+        for (EntityTrackerRegistry registry : pending.keySet()) {
+            var distanceSquared = distanceSquared(registry, world, location);
+            if (distanceSquared < 0) pending.remove(registry);
+            else candidates.add(new Candidate(registry, registry.priority(), distanceSquared, cost(registry), false));
+        }
+        var visibleCost = 0;
+        if (rebalance) addVisible(candidates, world, location);
+        else for (int cost : visible.values()) visibleCost += cost;
+        candidates.sort(CANDIDATE_COMPARATOR);
+        var used = 0;
+        for (Candidate candidate : candidates) {
+            var fits = visibleBudget <= 0 || visibleCost + candidate.cost <= visibleBudget;
+            if (candidate.spawned) {
+                if (fits) visibleCost += candidate.cost;
+                else if (candidate.registry.remove(player)) pending.put(candidate.registry, true);
+                continue;
+            }
+            if (!fits) continue;
+            visibleCost += candidate.cost;
+            if (used >= spawnBudget) {
+                if (rebalance) continue;
+                return;
+            }
+            var shouldNotSpawned = pending.remove(candidate.registry);
+            if (shouldNotSpawned == null) continue;
+            used += candidate.cost;
+            candidate.registry.spawn(player, shouldNotSpawned);
+        }
+    }
+
+    private void addVisible(@NotNull List<Candidate> candidates, @NotNull World world, @NotNull Location location) {
+        for (Map.Entry<EntityTrackerRegistry, Integer> entry : visible.entrySet()) {
+            var registry = entry.getKey();
+            var distanceSquared = distanceSquared(registry, world, location);
+            if (distanceSquared < 0) visible.remove(registry);
+            else candidates.add(new Candidate(registry, registry.priority(), distanceSquared * VISIBLE_BIAS, entry.getValue(), true));
+        }
+    }
+
+    private static double distanceSquared(@NotNull EntityTrackerRegistry registry, @NotNull World world, @NotNull Location location) {
+        if (registry.isClosed()) return -1;
+        var target = registry.entity().getLocation();
+        return target.getWorld() != world ? -1 : target.distanceSquared(location);
+    }
+
+    private record Candidate(@NotNull EntityTrackerRegistry registry, int priority, double score, int cost, boolean spawned) {
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.tracker;
+
+import kr.toxicity.model.api.BetterModel;
+import kr.toxicity.model.api.util.EntityUtil;
+import kr.toxicity.model.api.util.MathUtil;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static java.lang.Math.*;
+
+/**
+ * A cached sight trace of one tracker.
+ * <p>
+ * Each player's view cone is snapshotted at most once per server tick and shared by every tracker,
+ * and the model position is sampled once per tick instead of once per player.
+ * A visibility result is reused until the player or the model moves beyond a threshold.
+ */
+@ApiStatus.Internal
+public final class SightTrace implements Predicate<Player> {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(MathUtil.MINECRAFT_TICK_MILLS);
+    private static final double MOVE_THRESHOLD_SQUARED = 0.25 * 0.25;
+    private static final double ROTATION_THRESHOLD = toRadians(2);
+    private static final Map<UUID, Sample<ViewCone>> VIEW_CONE_MAP = new ConcurrentHashMap<>();
+
+    private final Supplier<Location> location;
+    private final Sample<Point> point = new Sample<>();
+    private final Map<UUID, Result> resultMap = new ConcurrentHashMap<>();
+
+    /**
+     * Creates sight trace
+     * @param location model location supplier
+     */
+    public SightTrace(@NotNull Supplier<Location> location) {
+        this.location = location;
+    }
+
+    @Override
+    public boolean test(@NotNull Player player) {
+        if (!BetterModel.config().sightTrace()) return true;
+        var cone = viewCone(player);
+        var target = point();
+        var uuid = player.getUniqueId();
+        var result = resultMap.get(uuid);
+        if (result != null && result.cone == cone && result.point == target) return result.visible;
+        var visible = cone.canSee(target);
+        resultMap.put(uuid, new Result(cone, target, visible));
+        return visible;
+    }
+
+    /**
+     * Removes cached result of some player
+     * @param uuid player's uuid
+     */
+    public void remove(@NotNull UUID uuid) {
+        resultMap.remove(uuid);
+    }
+
+    /**
+     * Removes view cone of some player
+     * @param uuid player's uuid
+     */
+    public static void clear(@NotNull UUID uuid) {
+        VIEW_CONE_MAP.remove(uuid);
+    }
+
+    private static long currentTick() {
+        return System.nanoTime() / TICK_NANOS;
+    }
+
+    private static @NotNull ViewCone viewCone(@NotNull Player player) {
+        var sample = VIEW_CONE_MAP.computeIfAbsent(player.getUniqueId(), u -> new Sample<>());
+        var tick = currentTick();
+        var cone = sample.value;
+        if (cone != null && sample.tick == tick) return cone;
+        var next = ViewCone.of(player.getEyeLocation());
+        if (cone == null || !cone.isSimilar(next)) sample.value = cone = next;
+        sample.tick = tick;
+        return cone;
+    }
+
+    private @NotNull Point point() {
+        var tick = currentTick();
+        var get = point.value;
+        if (get != null && point.tick == tick) return get;
+        var next = Point.of(location.get());
+        if (get == null || !get.isSimilar(next)) point.value = get = next;
+        point.tick = tick;
+        return get;
+    }
+
+    private static final class Sample<T> {
+        private volatile T value;
+        private volatile long tick;
+    }
+
+    private record Result(@NotNull ViewCone cone, @NotNull Point point, boolean visible) {
+    }
+
+    private record Point(@NotNull World world, double x, double y, double z) {
+        private static @NotNull Point of(@NotNull Location location) {
+            return new Point(location.getWorld(), location.getX(), location.getY(), location.getZ());
+        }
+
+        private boolean isSimilar(@NotNull Point other) {
+            if (world != other.world) return false;
+            var dx = other.x - x;
+            var dy = other.y - y;
+            var dz = other.z - z;
+            return MathUtil.fma(dx, dx, MathUtil.fma(dy, dy, dz * dz)) < MOVE_THRESHOLD_SQUARED;
+        }
+    }
+
+    private record ViewCone(@NotNull Point eye, double yaw, double pitch) {
+        private static @NotNull ViewCone of(@NotNull Location location) {
+            return new ViewCone(Point.of(location), toRadians(location.getYaw()), -toRadians(location.getPitch()));
+        }
+
+        private boolean isSimilar(@NotNull ViewCone other) {
+            return eye.isSimilar(other.eye)
+                    && abs(other.yaw - yaw) < ROTATION_THRESHOLD
+                    && abs(other.pitch - pitch) < ROTATION_THRESHOLD;
+        }
+
+        private boolean canSee(@NotNull Point target) {
+            return eye.world == target.world && EntityUtil.canSee(eye.x, eye.y, eye.z, yaw, pitch, target.x, target.y, target.z);
+        }
+    }
+}
@@ -22,7 +22,6 @@ import kr.toxicity.model.api.data.renderer.RenderSource;
 import kr.toxicity.model.api.event.*;
 import kr.toxicity.model.api.nms.*;
 import kr.toxicity.model.api.script.TimeScript;
-import kr.toxicity.model.api.util.EntityUtil;
 import kr.toxicity.model.api.util.EventUtil;
 import kr.toxicity.model.api.util.LogUtil;
 import kr.toxicity.model.api.util.MathUtil;
@@ -48,19 +47,6 @@ import java.util.stream.Stream;
  */
 public abstract class Tracker implements AutoCloseable {
 
-    private static final ScheduledExecutorService EXECUTOR = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors() * 2, new ThreadFactory() {
-
-        private final AtomicInteger integer = new AtomicInteger();
-
-        @Override
-        public Thread newThread(@NotNull Runnable r) {
-            var thread = new Thread(r);
-            thread.setDaemon(true);
-            thread.setName("BetterModel-Worker-" + integer.getAndIncrement());
-            thread.setUncaughtExceptionHandler((t, e) -> LogUtil.handleException("Exception has occurred in " + t.getName(), e));
-            return thread;
-        }
-    });
     /**
      * Tracker tick interval
      */
@@ -73,6 +59,9 @@ public abstract class Tracker implements AutoCloseable {
     @Getter
     protected final RenderPipeline pipeline;
     private long frame = 0;
+    private int animationInterval = 1;
+    private int animationFrame = 0;
+    private int animationDelta = 1;
     private final Queue<Runnable> queuedTask = new ConcurrentLinkedQueue<>();
     private final AtomicBoolean tickPause = new AtomicBoolean();
     private final AtomicBoolean isClosed = new AtomicBoolean();
@@ -81,6 +70,8 @@ public abstract class Tracker implements AutoCloseable {
     protected final TrackerModifier modifier;
     private final Runnable updater;
     private final BundlerSet bundlerSet;
+    private final SightTrace sightTrace;
+    private final OcclusionCulling occlusionCulling;
     private final AnimationStateHandler<TimeScript> scriptProcessor = new AnimationStateHandler<>(
             TimeScript.EMPTY,
             (b, a) -> {
@@ -90,16 +81,16 @@ public abstract class Tracker implements AutoCloseable {
                 } else b.accept(this);
             }
     );
-    private ScheduledFuture<?> task;
+    private volatile TrackerClock.Registration registration;
     protected ModelRotator rotator = ModelRotator.YAW;
     protected ModelScaler scaler = ModelScaler.entity();
     private Supplier<ModelRotation> rotationSupplier = () -> ModelRotation.EMPTY;
     private BiConsumer<Tracker, CloseReason> closeEventHandler = (t, r) -> EventUtil.call(new CloseTrackerEvent(t, r));
 
     private ScheduledPacketHandler handler = (t, s) -> {
-        if (!tickPause.get()) {
-            scriptProcessor.tick();
-            t.pipeline.tick(s.getViewBundler());
+        if (!tickPause.get() && animationDelta > 0) {
+            scriptProcessor.tick(animationDelta, () -> {});
+            t.pipeline.tick(animationDelta, s.getViewBundler());
         }
     };
     private BiConsumer<Tracker, Player> perPlayerHandler = null;
@@ -115,17 +106,24 @@ public abstract class Tracker implements AutoCloseable {
         bundlerSet = new BundlerSet();
         updater = () -> {
             try {
+                pipeline.animationController().nextFrame();
                 if (frame % MINECRAFT_TICK_MULTIPLIER == 0) {
                     Runnable task;
                     while ((task = queuedTask.poll()) != null) task.run();
+                    updateLevelOfDetail();
+                    if (occlusionCulling != null) occlusionCulling.update();
                 }
+                nextAnimationFrame();
                 handler.handle(this, bundlerSet);
                 bundlerSet.send();
             } catch (Throwable throwable) {
                 LogUtil.handleException("Ticking this tracker has been failed: " + name(), throwable);
             }
         };
-        if (modifier.sightTrace()) pipeline.viewFilter(p -> EntityUtil.canSee(p.getEyeLocation(), location()));
+        sightTrace = modifier.sightTrace() ? new SightTrace(this::location) : null;
+        if (sightTrace != null) pipeline.viewFilter(sightTrace);
+        occlusionCulling = modifier.occlusionCulling() ? new OcclusionCulling(this) : null;
+        if (occlusionCulling != null) pipeline.viewFilter(occlusionCulling);
         frame((t, s) -> {
             if (readyForForceUpdate.compareAndSet(true, false)) t.pipeline.iterateTree(b -> b.dirtyUpdate(s.dataBundler));
         });
@@ -154,7 +152,8 @@ public abstract class Tracker implements AutoCloseable {
      * @return is scheduled
      */
     public boolean isScheduled() {
-        return task != null && !task.isCancelled();
+        var get = registration;
+        return get != null && !get.isCancelled();
     }
 
     private void start() {
@@ -162,14 +161,7 @@ public abstract class Tracker implements AutoCloseable {
         synchronized (this) {
             if (isScheduled()) return;
             updater.run();
-            task = EXECUTOR.scheduleAtFixedRate(() -> {
-                if (playerCount() == 0 && !forRemoval.get()) {
-                    shutdown();
-                    return;
-                }
-                frame++;
-                updater.run();
-            }, TRACKER_TICK_INTERVAL, TRACKER_TICK_INTERVAL, TimeUnit.MILLISECONDS);
+            registration = TrackerClock.clock().register(this);
             LogUtil.debug(DebugConfig.DebugOption.TRACKER, () -> getClass().getSimpleName() + " scheduler started: " + name());
         }
     }
@@ -178,13 +170,48 @@ public abstract class Tracker implements AutoCloseable {
         if (!isScheduled()) return;
         synchronized (this) {
             if (!isScheduled()) return;
-            task.cancel(true);
-            task = null;
+            registration.cancel();
+            registration = null;
             frame = 0;
+            animationFrame = 0;
             LogUtil.debug(DebugConfig.DebugOption.TRACKER, () -> getClass().getSimpleName() + " scheduler shutdown: " + name());
         }
     }
 
+    private void updateLevelOfDetail() {
+        var lod = modifier.levelOfDetail();
+        animationInterval = lod == LevelOfDetail.NONE ? 1 : Math.max(lod.interval(pipeline.nearestPlayerDistance(location())), 1);
+    }
+
+    private void nextAnimationFrame() {
+        if (++animationFrame < animationInterval) {
+            animationDelta = 0;
+        } else {
+            animationDelta = animationFrame;
+            animationFrame = 0;
+        }
+    }
+
+    /**
+     * Gets the animation tick interval decided by level of detail
+     * @return interval in tracker frames
+     */
+    public int animationInterval() {
+        return animationInterval;
+    }
+
+    /**
+     * Ticks this tracker by clock.
+     */
+    void tickByClock() {
+        if (playerCount() == 0 && !forRemoval.get()) {
+            shutdown();
+            return;
+        }
+        frame++;
+        updater.run();
+    }
+
     /**
      * Gets model rotation.
      * @return rotation
@@ -375,6 +402,8 @@ public abstract class Tracker implements AutoCloseable {
         if (isClosed()) return false;
         EventUtil.call(new ModelDespawnAtPlayerEvent(player, this));
         var result = pipeline.remove(player);
+        if (sightTrace != null) sightTrace.remove(player.getUniqueId());
+        if (occlusionCulling != null) occlusionCulling.remove(player.getUniqueId());
         if (result) LogUtil.debug(DebugConfig.DebugOption.TRACKER, () -> getClass().getSimpleName() + " is despawned at player " + player.getName() + ": " + name());
         return result;
     }
@@ -499,9 +528,10 @@ public abstract class Tracker implements AutoCloseable {
      * @return success
      */
     public boolean animate(@NotNull Predicate<RenderedBone> filter, @NotNull BlueprintAnimation animation, @NotNull AnimationModifier modifier, @NotNull AnimationEventHandler eventHandler) {
-        var script = animation.script(modifier);
-        if (script != null) scriptProcessor.addAnimation(animation.name(), script.iterator(modifier), modifier, AnimationEventHandler.start());
-        return pipeline.animate(filter, animation, modifier, eventHandler);
+        var bound = pipeline.animationController().bind(modifier);
+        var script = animation.script(bound);
+        if (script != null) scriptProcessor.addAnimation(animation.name(), script.iterator(bound), bound, AnimationEventHandler.start());
+        return pipeline.animate(filter, animation, bound, eventHandler);
     }
 
     /**
@@ -569,9 +599,10 @@ public abstract class Tracker implements AutoCloseable {
      * @return success
      */
     public boolean replace(@NotNull Predicate<RenderedBone> filter, @NotNull String target, @NotNull BlueprintAnimation animation, @NotNull AnimationModifier modifier) {
-        var script = animation.script(modifier);
-        if (script != null) scriptProcessor.replaceAnimation(target, script.iterator(modifier), modifier);
-        return pipeline.replace(filter, target, animation, modifier);
+        var bound = pipeline.animationController().bind(modifier);
+        var script = animation.script(bound);
+        if (script != null) scriptProcessor.replaceAnimation(target, script.iterator(bound), bound);
+        return pipeline.replace(filter, target, animation, bound);
     }
 
     //--- Update action ---
@@ -844,20 +875,23 @@ public abstract class Tracker implements AutoCloseable {
         }
 
         private void perPlayerSend() {
-            perPlayerViewBundler.values().forEach(PerPlayerCache::send);
+            if (animationDelta > 0) perPlayerViewBundler.values().forEach(PerPlayerCache::send);
         }
 
         private void globalSend() {
             if (tickBundler.isNotEmpty()) {
-                pipeline.allPlayer().forEach(tickBundler::send);
+                tickBundler.send(pipeline.allPlayer().toList());
+                tickBundler.release();
                 tickBundler = pipeline.createBundler();
             }
             if (dataBundler.isNotEmpty()) {
-                pipeline.nonHidePlayer().forEach(dataBundler::send);
+                dataBundler.send(pipeline.nonHidePlayer().toList());
+                dataBundler.release();
                 dataBundler = pipeline.createLazyBundler();
             }
             if (viewBundler.isNotEmpty()) {
-                pipeline.viewedPlayer().filter(p -> !perPlayerViewBundler.containsKey(p.getUniqueId())).forEach(viewBundler::send);
+                viewBundler.send(pipeline.viewedPlayer().filter(p -> !perPlayerViewBundler.containsKey(p.getUniqueId())).toList());
+                viewBundler.release();
                 viewBundler = pipeline.createParallelBundler();
             }
         }
@@ -892,8 +926,9 @@ public abstract class Tracker implements AutoCloseable {
         }
 
         private void send() {
-            if (pipeline.tick(uuid, bundler) && bundler.isNotEmpty()) {
+            if (pipeline.tick(uuid, animationDelta, bundler) && bundler.isNotEmpty()) {
                 channel().ifPresent(handler -> bundler.send(handler.player()));
+                bundler.release();
                 bundler = pipeline.createParallelBundler();
             }
         }
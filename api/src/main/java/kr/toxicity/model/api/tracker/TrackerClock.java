@@ -0,0 +1,277 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.tracker;
+
+import kr.toxicity.model.api.BetterModel;
+import kr.toxicity.model.api.util.LogUtil;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A central clock of trackers.
+ * <p>
+ * Every scheduled tracker is assigned to a shard, and each shard ticks its trackers as one batch on a fixed worker pool.
+ */
+@ApiStatus.Internal
+public final class TrackerClock {
+
+    private static final int SHARD_MULTIPLIER = 4;
+    private static final long TICK_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(Tracker.TRACKER_TICK_INTERVAL);
+
+    private final ScheduledExecutorService clock = Executors.newSingleThreadScheduledExecutor(threadFactory("BetterModel-Clock-"));
+    private final ExecutorService workers;
+    private final Shard[] shards;
+    private final ShardStrategy strategy;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+    private final List<FrameTask> frameTasks = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong lateness = new AtomicLong();
+    private final AtomicLong maxLateness = new AtomicLong();
+    private final AtomicLong skippedTick = new AtomicLong();
+
+    private final long startTime = System.nanoTime();
+    private long tickCount;
+
+    /**
+     * Gets the clock instance
+     * @return clock
+     */
+    public static @NotNull TrackerClock clock() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Creates clock
+     * @param workerCount worker thread count
+     * @param strategy shard strategy
+     */
+    private TrackerClock(int workerCount, @NotNull ShardStrategy strategy) {
+        var count = Math.max(1, workerCount);
+        this.strategy = strategy;
+        workers = Executors.newFixedThreadPool(count, threadFactory("BetterModel-Worker-"));
+        shards = new Shard[count * SHARD_MULTIPLIER];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard();
+        }
+        clock.scheduleAtFixedRate(this::tick, Tracker.TRACKER_TICK_INTERVAL, Tracker.TRACKER_TICK_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    private static @NotNull ThreadFactory threadFactory(@NotNull String prefix) {
+        var integer = new AtomicInteger();
+        return r -> {
+            var thread = new Thread(r);
+            thread.setDaemon(true);
+            thread.setName(prefix + integer.getAndIncrement());
+            thread.setUncaughtExceptionHandler((t, e) -> LogUtil.handleException("Exception has occurred in " + t.getName(), e));
+            return thread;
+        };
+    }
+
+    private void tick() {
+        var scheduledAt = startTime + ++tickCount * TICK_INTERVAL_NANOS;
+        for (Shard shard : shards) {
+            if (shard.size.get() == 0) continue;
+            if (shard.running.compareAndSet(false, true)) {
+                shard.scheduledAt = scheduledAt;
+                workers.execute(shard);
+            } else skippedTick.incrementAndGet();
+        }
+        for (FrameTask task : frameTasks) {
+            if (task.running.compareAndSet(false, true)) workers.execute(task);
+        }
+    }
+
+    /**
+     * Adds a task which runs on a worker once per clock frame.
+     * A frame is skipped if the previous run of this task is still running.
+     * @param task task
+     */
+    public void addFrameTask(@NotNull Runnable task) {
+        frameTasks.add(new FrameTask(task));
+    }
+
+    /**
+     * Registers tracker to this clock
+     * @param tracker tracker
+     * @return registration
+     */
+    @NotNull Registration register(@NotNull Tracker tracker) {
+        var shard = shards[switch (strategy) {
+            case ROUND_ROBIN -> Math.floorMod(roundRobin.getAndIncrement(), shards.length);
+            case MODEL -> Math.floorMod(tracker.name().hashCode(), shards.length);
+            case LEAST_LOADED -> leastLoaded();
+        }];
+        var registration = new Registration(tracker, shard);
+        shard.trackers.put(registration, Boolean.TRUE);
+        shard.size.incrementAndGet();
+        return registration;
+    }
+
+    private int leastLoaded() {
+        var index = 0;
+        var min = Integer.MAX_VALUE;
+        for (int i = 0; i < shards.length; i++) {
+            var size = shards[i].size.get();
+            if (size < min) {
+                min = size;
+                index = i;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Gets the number of registered trackers
+     * @return tracker count
+     */
+    public int trackerCount() {
+        var sum = 0;
+        for (Shard shard : shards) {
+            sum += shard.size.get();
+        }
+        return sum;
+    }
+
+    /**
+     * Gets the number of shards
+     * @return shard count
+     */
+    public int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Gets the lateness of the last ticked shard
+     * @param unit time unit
+     * @return lateness
+     */
+    public long lateness(@NotNull TimeUnit unit) {
+        return unit.convert(lateness.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the max lateness since the last reset
+     * @param unit time unit
+     * @return max lateness
+     */
+    public long maxLateness(@NotNull TimeUnit unit) {
+        return unit.convert(maxLateness.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the number of shard ticks skipped because the previous tick was still running
+     * @return skipped tick count
+     */
+    public long skippedTick() {
+        return skippedTick.get();
+    }
+
+    /**
+     * Resets measured lateness
+     */
+    public void resetLateness() {
+        lateness.set(0);
+        maxLateness.set(0);
+        skippedTick.set(0);
+    }
+
+    /**
+     * A registered tracker
+     */
+    @RequiredArgsConstructor
+    final class Registration {
+        private final Tracker tracker;
+        private final Shard shard;
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+
+        /**
+         * Removes this tracker from the clock
+         */
+        void cancel() {
+            if (cancelled.compareAndSet(false, true) && shard.trackers.remove(this) != null) shard.size.decrementAndGet();
+        }
+
+        /**
+         * Checks this registration is cancelled
+         * @return cancelled
+         */
+        boolean isCancelled() {
+            return cancelled.get();
+        }
+    }
+
+    private final class Shard implements Runnable {
+        private final Map<Registration, Boolean> trackers = new ConcurrentHashMap<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean running = new AtomicBoolean();
+        private volatile long scheduledAt;
+
+        @Override
+        public void run() {
+            try {
+                var late = Math.max(0, System.nanoTime() - scheduledAt);
+                lateness.set(late);
+                maxLateness.accumulateAndGet(late, Math::max);
+                for (Registration registration : trackers.keySet()) {
+                    if (!registration.isCancelled()) registration.tracker.tickByClock();
+                }
+            } finally {
+                running.set(false);
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class FrameTask implements Runnable {
+        private final Runnable delegate;
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        @Override
+        public void run() {
+            try {
+                delegate.run();
+            } catch (Throwable throwable) {
+                LogUtil.handleException("Running a frame task has been failed.", throwable);
+            } finally {
+                running.set(false);
+            }
+        }
+    }
+
+    /**
+     * Shard strategy
+     */
+    public enum ShardStrategy {
+        /**
+         * Assigns trackers to each shard in turn
+         */
+        ROUND_ROBIN,
+        /**
+         * Assigns a tracker to the shard which has the fewest trackers
+         */
+        LEAST_LOADED,
+        /**
+         * Assigns trackers of the same model to the same shard
+         */
+        MODEL
+    }
+
+    private static final class Holder {
+        private static final TrackerClock INSTANCE = new TrackerClock(
+                BetterModel.config().trackerWorkerCount(),
+                BetterModel.config().trackerShardStrategy()
+        );
+    }
+}
@@ -44,6 +44,9 @@ public record TrackerData(
             .registerTypeAdapter(ModelRotator.class, (JsonSerializer<ModelRotator>) (src, typeOfSrc, context) -> src.serialize())
             .registerTypeAdapter(EntityHideOption.class, (JsonDeserializer<EntityHideOption>) (json, typeOfT, context) -> json.isJsonArray() ? EntityHideOption.deserialize(json.getAsJsonArray()) : EntityHideOption.DEFAULT)
             .registerTypeAdapter(EntityHideOption.class, (JsonSerializer<EntityHideOption>) (src, typeOfSrc, context) -> src.serialize())
+            .registerTypeAdapter(TrackerModifier.class, (JsonDeserializer<TrackerModifier>) (json, typeOfT, context) -> json.isJsonObject() ? TrackerModifier.deserialize(json.getAsJsonObject(), context) : TrackerModifier.DEFAULT)
+            .registerTypeAdapter(LevelOfDetail.class, (JsonDeserializer<LevelOfDetail>) (json, typeOfT, context) -> LevelOfDetail.deserialize(json))
+            .registerTypeAdapter(LevelOfDetail.class, (JsonSerializer<LevelOfDetail>) (src, typeOfSrc, context) -> LevelOfDetail.serialize(src))
             .registerTypeAdapter(UUID.class, (JsonDeserializer<UUID>) (json, typeOfT, context) -> UUID.fromString(json.getAsString()))
             .registerTypeAdapter(UUID.class, (JsonSerializer<UUID>) (src, typeOfSrc, context) -> new JsonPrimitive(src.toString()))
             .create();
@@ -6,19 +6,30 @@
  */
 package kr.toxicity.model.api.tracker;
 
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonObject;
 import com.google.gson.annotations.SerializedName;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
 
 /**
  * Tracker's modifier
  * @param sightTrace use sight-trace
  * @param damageAnimation enables damage animation
  * @param damageTint enables damage tint
+ * @param levelOfDetail level of detail policy
+ * @param priority spawn priority under the visible model budget, higher is spawned first
+ * @param occlusionCulling use block occlusion culling
  */
 public record TrackerModifier(
         @SerializedName("sight-trace") boolean sightTrace,
         @SerializedName("damage-animation") boolean damageAnimation,
-        @SerializedName("damage-tint") boolean damageTint
+        @SerializedName("damage-tint") boolean damageTint,
+        @Nullable @SerializedName("level-of-detail") LevelOfDetail levelOfDetail,
+        @SerializedName("priority") int priority,
+        @SerializedName("occlusion-culling") boolean occlusionCulling
 ) {
     /**
      * Default modifier
@@ -26,9 +37,72 @@ public record TrackerModifier(
     public static final TrackerModifier DEFAULT = new TrackerModifier(
             true,
             true,
+            true,
+            LevelOfDetail.NONE,
+            0,
             true
     );
 
+    /**
+     * Creates modifier
+     * @param sightTrace use sight-trace
+     * @param damageAnimation enables damage animation
+     * @param damageTint enables damage tint
+     */
+    public TrackerModifier(boolean sightTrace, boolean damageAnimation, boolean damageTint) {
+        this(sightTrace, damageAnimation, damageTint, LevelOfDetail.NONE);
+    }
+
+    /**
+     * Creates modifier
+     * @param sightTrace use sight-trace
+     * @param damageAnimation enables damage animation
+     * @param damageTint enables damage tint
+     * @param levelOfDetail level of detail policy
+     */
+    public TrackerModifier(boolean sightTrace, boolean damageAnimation, boolean damageTint, @Nullable LevelOfDetail levelOfDetail) {
+        this(sightTrace, damageAnimation, damageTint, levelOfDetail, 0);
+    }
+
+    /**
+     * Creates modifier
+     * @param sightTrace use sight-trace
+     * @param damageAnimation enables damage animation
+     * @param damageTint enables damage tint
+     * @param levelOfDetail level of detail policy
+     * @param priority spawn priority under the visible model budget
+     */
+    public TrackerModifier(boolean sightTrace, boolean damageAnimation, boolean damageTint, @Nullable LevelOfDetail levelOfDetail, int priority) {
+        this(sightTrace, damageAnimation, damageTint, levelOfDetail, priority, true);
+    }
+
+    /**
+     * Gets level of detail policy
+     * @return level of detail
+     */
+    @Override
+    public @NotNull LevelOfDetail levelOfDetail() {
+        return levelOfDetail != null ? levelOfDetail : LevelOfDetail.NONE;
+    }
+
+    /**
+     * Deserializes modifier from JSON.
+     * Occlusion culling missing in old data is enabled.
+     * @param json JSON object
+     * @param context context
+     * @return modifier
+     */
+    public static @NotNull TrackerModifier deserialize(@NotNull JsonObject json, @NotNull JsonDeserializationContext context) {
+        return new TrackerModifier(
+                json.has("sight-trace") && json.get("sight-trace").getAsBoolean(),
+                json.has("damage-animation") && json.get("damage-animation").getAsBoolean(),
+                json.has("damage-tint") && json.get("damage-tint").getAsBoolean(),
+                json.has("level-of-detail") ? context.deserialize(json.get("level-of-detail"), LevelOfDetail.class) : null,
+                json.has("priority") ? json.get("priority").getAsInt() : 0,
+                !json.has("occlusion-culling") || json.get("occlusion-culling").getAsBoolean()
+        );
+    }
+
     /**
      * Creates default builder
      * @return builder
@@ -52,6 +126,9 @@ public record TrackerModifier(
         private boolean sightTrace;
         private boolean damageAnimation;
         private boolean damageTint;
+        private LevelOfDetail levelOfDetail;
+        private int priority;
+        private boolean occlusionCulling;
 
         /**
          * Private initializer
@@ -61,6 +138,9 @@ public record TrackerModifier(
             this.sightTrace = modifier.sightTrace;
             this.damageAnimation = modifier.damageAnimation;
             this.damageTint = modifier.damageTint;
+            this.levelOfDetail = modifier.levelOfDetail();
+            this.priority = modifier.priority;
+            this.occlusionCulling = modifier.occlusionCulling;
         }
 
         /**
@@ -103,6 +183,36 @@ public record TrackerModifier(
             return this;
         }
 
+        /**
+         * Sets level of detail policy
+         * @param levelOfDetail level of detail
+         * @return self
+         */
+        public @NotNull Builder levelOfDetail(@NotNull LevelOfDetail levelOfDetail) {
+            this.levelOfDetail = Objects.requireNonNull(levelOfDetail);
+            return this;
+        }
+
+        /**
+         * Sets spawn priority
+         * @param priority priority
+         * @return self
+         */
+        public @NotNull Builder priority(int priority) {
+            this.priority = priority;
+            return this;
+        }
+
+        /**
+         * Sets block occlusion culling
+         * @param occlusionCulling occlusion culling
+         * @return self
+         */
+        public @NotNull Builder occlusionCulling(boolean occlusionCulling) {
+            this.occlusionCulling = occlusionCulling;
+            return this;
+        }
+
         /**
          * Builds modifier
          * @return modifier
@@ -111,7 +221,10 @@ public record TrackerModifier(
             return new TrackerModifier(
                     sightTrace,
                     damageAnimation,
-                    damageTint
+                    damageTint,
+                    levelOfDetail,
+                    priority,
+                    occlusionCulling
             );
         }
     }
@@ -61,14 +61,36 @@ public final class EntityUtil {
         if (!manager.sightTrace()) return true;
         else if (player.getWorld() != target.getWorld()) return false;
 
-        var d = player.distance(target);
+        return canSee(
+                player.getX(), player.getY(), player.getZ(),
+                toRadians(player.getYaw()), -toRadians(player.getPitch()),
+                target.getX(), target.getY(), target.getZ()
+        );
+    }
+
+    /**
+     * Checks this player can see that point without a world check
+     * @param x player's x
+     * @param y player's y
+     * @param z player's z
+     * @param yaw player's yaw in radians
+     * @param pitch player's inverted pitch in radians
+     * @param tx target's x
+     * @param ty target's y
+     * @param tz target's z
+     * @return whether target is in user's screen
+     */
+    public static boolean canSee(double x, double y, double z, double yaw, double pitch, double tx, double ty, double tz) {
+        var manager = BetterModel.config();
+        var dx = tx - x;
+        var dy = ty - y;
+        var dz = tz - z;
+        var d = sqrt(MathUtil.fma(dx, dx, MathUtil.fma(dy, dy, dz * dz)));
         if (d > manager.maxSight()) return false;
         else if (d <= manager.minSight()) return true;
 
         var t = PI - abs(atan(d)) * 2;
-        var ty = t + Y_RENDER_THRESHOLD;
-        var tz = t + X_RENDER_THRESHOLD;
-        return isInDegree(player, target, ty, tz);
+        return isInDegree(dx, dy, dz, yaw, pitch, t + Y_RENDER_THRESHOLD, t + X_RENDER_THRESHOLD);
     }
 
     /**
@@ -93,13 +115,18 @@ public final class EntityUtil {
     }
 
     private static boolean isInDegree(@NotNull Location player, @NotNull Location target, double ty, double tz) {
-        var playerYaw = toRadians(player.getYaw());
-        var playerPitch = -toRadians(player.getPitch());
-
-        var dz = target.getZ() - player.getZ();
-        var dy = target.getY() - player.getY();
-        var dx = target.getX() - player.getX();
+        return isInDegree(
+                target.getX() - player.getX(),
+                target.getY() - player.getY(),
+                target.getZ() - player.getZ(),
+                toRadians(player.getYaw()),
+                -toRadians(player.getPitch()),
+                ty,
+                tz
+        );
+    }
 
+    private static boolean isInDegree(double dx, double dy, double dz, double playerYaw, double playerPitch, double ty, double tz) {
         var ry = abs(atan2(dy, sqrt(MathUtil.fma(dz, dz, dx * dx))) - playerPitch);
         var rz = abs(atan2(-dx, dz) - playerYaw);
         return (ry <= ty || ry >= PI * 2 - ty) && (rz <= tz || rz >= PI * 2 - tz);
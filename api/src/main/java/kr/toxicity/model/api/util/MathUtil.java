@@ -222,12 +222,21 @@ public final class MathUtil {
      * @return rotation
      */
     public static @NotNull Quaternionf toQuaternion(@NotNull Vector3f vector) {
-        return new Quaternionf()
-                .rotateZYX(
-                        vector.z * DEGREES_TO_RADIANS,
-                        vector.y * DEGREES_TO_RADIANS,
-                        vector.x * DEGREES_TO_RADIANS
-                );
+        return toQuaternion(vector, new Quaternionf());
+    }
+
+    /**
+     * Converts vector rotation to quaternion
+     * @param vector vector
+     * @param dest destination
+     * @return dest
+     */
+    public static @NotNull Quaternionf toQuaternion(@NotNull Vector3f vector, @NotNull Quaternionf dest) {
+        return dest.rotationZYX(
+                vector.z * DEGREES_TO_RADIANS,
+                vector.y * DEGREES_TO_RADIANS,
+                vector.x * DEGREES_TO_RADIANS
+        );
     }
 
     /**
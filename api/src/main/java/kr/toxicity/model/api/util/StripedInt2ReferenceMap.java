@@ -0,0 +1,113 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.util;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.ints.Int2ReferenceOpenHashMap;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A concurrent int-keyed map split into independently locked stripes.
+ * <p>
+ * Keys are never boxed, and readers only share a read lock of one stripe, so lookups from many threads do not contend.
+ * @param <V> value type
+ */
+@ApiStatus.Internal
+public final class StripedInt2ReferenceMap<V> {
+
+    private static final int STRIPE_SIZE = 64;
+
+    private final Stripe<V>[] stripes;
+
+    /**
+     * Creates map
+     */
+    @SuppressWarnings("unchecked")
+    public StripedInt2ReferenceMap() {
+        stripes = new Stripe[STRIPE_SIZE];
+        for (int i = 0; i < STRIPE_SIZE; i++) {
+            stripes[i] = new Stripe<>();
+        }
+    }
+
+    private @NotNull Stripe<V> stripe(int key) {
+        return stripes[HashCommon.mix(key) & (STRIPE_SIZE - 1)];
+    }
+
+    /**
+     * Gets value by key
+     * @param key key
+     * @return value or null
+     */
+    public @Nullable V get(int key) {
+        var stripe = stripe(key);
+        var stamp = stripe.lock.readLock();
+        try {
+            return stripe.map.get(key);
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Puts value
+     * @param key key
+     * @param value value
+     * @return previous value or null
+     */
+    public @Nullable V put(int key, @NotNull V value) {
+        var stripe = stripe(key);
+        var stamp = stripe.lock.writeLock();
+        try {
+            return stripe.map.put(key, value);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes value only if it is mapped to the given value
+     * @param key key
+     * @param value value
+     * @return whether value is removed
+     */
+    public boolean remove(int key, @NotNull V value) {
+        var stripe = stripe(key);
+        var stamp = stripe.lock.writeLock();
+        try {
+            return stripe.map.remove(key, value);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Gets the size of this map
+     * @return size
+     */
+    public int size() {
+        var size = 0;
+        for (Stripe<V> stripe : stripes) {
+            var stamp = stripe.lock.readLock();
+            try {
+                size += stripe.map.size();
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    private static final class Stripe<V> {
+        private final StampedLock lock = new StampedLock();
+        private final Int2ReferenceOpenHashMap<V> map = new Int2ReferenceOpenHashMap<>();
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.util;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A concurrent primitive int set split into independently locked stripes.
+ * <p>
+ * Values are never boxed, and lookups use an optimistic read, so reads on every packet neither lock nor allocate
+ * while writes only lock one stripe.
+ */
+@ApiStatus.Internal
+public final class StripedIntSet {
+
+    private static final int STRIPE_SIZE = 16;
+
+    private final Stripe[] stripes;
+
+    /**
+     * Creates set
+     */
+    public StripedIntSet() {
+        stripes = new Stripe[STRIPE_SIZE];
+        for (int i = 0; i < STRIPE_SIZE; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    private @NotNull Stripe stripe(int value) {
+        return stripes[HashCommon.mix(value) & (STRIPE_SIZE - 1)];
+    }
+
+    /**
+     * Checks this set contains some value
+     * @param value value
+     * @return contains or not
+     */
+    public boolean contains(int value) {
+        var stripe = stripe(value);
+        var stamp = stripe.lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                var result = stripe.set.contains(value);
+                if (stripe.lock.validate(stamp)) return result;
+            } catch (RuntimeException ignored) {
+                //Torn read by concurrent rehash, retry with read lock
+            }
+        }
+        stamp = stripe.lock.readLock();
+        try {
+            return stripe.set.contains(value);
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Adds value to this set
+     * @param value value
+     * @return whether this set is changed
+     */
+    public boolean add(int value) {
+        var stripe = stripe(value);
+        var stamp = stripe.lock.writeLock();
+        try {
+            return stripe.set.add(value);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes value from this set
+     * @param value value
+     * @return whether this set is changed
+     */
+    public boolean remove(int value) {
+        var stripe = stripe(value);
+        var stamp = stripe.lock.writeLock();
+        try {
+            return stripe.set.remove(value);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Gets the size of this set
+     * @return size
+     */
+    public int size() {
+        var size = 0;
+        for (Stripe stripe : stripes) {
+            var stamp = stripe.lock.readLock();
+            try {
+                size += stripe.set.size();
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    private static final class Stripe {
+        private final StampedLock lock = new StampedLock();
+        private final IntOpenHashSet set = new IntOpenHashSet();
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+import kr.toxicity.model.api.data.blueprint.AnimationGenerator
+import org.junit.jupiter.api.Test
+import kotlin.math.sin
+import kotlin.math.sqrt
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+
+class AnimationGeneratorTest {
+
+    private companion object {
+        const val SIZE = 200
+        const val EPSILON = 0.01F
+        const val TOLERANCE = 1.0E-5F
+        val TIME = FloatArray(SIZE) { it * 0.05F }
+    }
+
+    @Test
+    fun testReductionErrorBound() {
+        val position = curve { i, axis -> i * 0.02F * (axis + 1) + sin(i * 0.1F) * 0.05F }
+        val scale = curve { i, _ -> 1F + sin(i * 0.03F) * 0.2F }
+        val rotation = curve { i, axis -> if (axis == 1) i * 0.5F + sin(i * 0.2F) * 2F else 0F }
+        val keep = BooleanArray(SIZE)
+        val kept = reduce(arrayOf(position), arrayOf(scale), arrayOf(rotation), intArrayOf(-1), keep)
+        assertTrue(kept < SIZE, "nothing is reduced")
+        assertEquals(kept, keep.count { it })
+        forEachSegment(keep) { a, e ->
+            for (j in a + 1..<e) {
+                val alpha = (TIME[j] - TIME[a]) / (TIME[e] - TIME[a])
+                assertTrue(error(position, a, e, j, alpha) <= EPSILON + TOLERANCE, "position error at $j")
+                assertTrue(error(scale, a, e, j, alpha) <= EPSILON + TOLERANCE, "scale error at $j")
+                assertTrue(Math.toRadians(error(rotation, a, e, j, alpha).toDouble()) <= EPSILON + TOLERANCE, "rotation error at $j")
+            }
+        }
+    }
+
+    @Test
+    fun testRotationGuard() {
+        val still = curve { _, _ -> 0F }
+        val parentRotation = curve { i, axis -> if (axis == 0) i * 2F else 0F }
+        val childRotation = curve { i, axis -> if (axis == 2) i * 1.5F else 0F }
+        val keep = BooleanArray(SIZE)
+        val kept = reduce(arrayOf(still, still), arrayOf(still, still), arrayOf(parentRotation, childRotation), intArrayOf(-1, 0), keep)
+        assertTrue(kept < SIZE, "nothing is reduced")
+        forEachSegment(keep) { a, e ->
+            val degree = distance(parentRotation, a, e) + distance(childRotation, a, e)
+            assertTrue(degree <= 90F + TOLERANCE, "rotation between $a and $e is $degree degree")
+        }
+    }
+
+    @Test
+    fun testKeepForcedKeyframe() {
+        val still = curve { _, _ -> 0F }
+        val keep = BooleanArray(SIZE).apply { this[SIZE / 2] = true }
+        reduce(arrayOf(still), arrayOf(still), arrayOf(still), intArrayOf(-1), keep)
+        assertTrue(keep[0] && keep[SIZE / 2] && keep[SIZE - 1])
+        assertEquals(3, keep.count { it })
+    }
+
+    private fun reduce(
+        position: Array<FloatArray>,
+        scale: Array<FloatArray>,
+        rotation: Array<FloatArray>,
+        parent: IntArray,
+        keep: BooleanArray
+    ) = AnimationGenerator.reduceKeyframes(TIME, position, scale, rotation, parent, keep, EPSILON)
+
+    private fun curve(block: (Int, Int) -> Float) = FloatArray(SIZE * 3) { block(it / 3, it % 3) }
+
+    private fun forEachSegment(keep: BooleanArray, block: (Int, Int) -> Unit) {
+        var a = 0
+        for (e in 1..<SIZE) {
+            if (!keep[e]) continue
+            block(a, e)
+            a = e
+        }
+    }
+
+    private fun distance(array: FloatArray, a: Int, e: Int): Float {
+        var sum = 0F
+        for (axis in 0..2) {
+            val d = array[e * 3 + axis] - array[a * 3 + axis]
+            sum += d * d
+        }
+        return sqrt(sum)
+    }
+
+    private fun error(array: FloatArray, a: Int, e: Int, j: Int, alpha: Float): Float {
+        var sum = 0F
+        for (axis in 0..2) {
+            val lerp = array[a * 3 + axis] + (array[e * 3 + axis] - array[a * 3 + axis]) * alpha
+            val d = array[j * 3 + axis] - lerp
+            sum += d * d
+        }
+        return sqrt(sum)
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+import kr.toxicity.model.api.bone.VirtualHitBox
+import kr.toxicity.model.api.data.blueprint.ModelBoundingBox
+import org.joml.Quaternionf
+import org.joml.Vector3f
+import org.junit.jupiter.api.Test
+import kotlin.math.sqrt
+import kotlin.test.assertEquals
+
+class VirtualHitBoxTest {
+
+    private companion object {
+        const val REACH = 5.0
+        const val TOLERANCE = 1.0E-4
+        val BOX = ModelBoundingBox.of(1.0, 1.0, 1.0)
+        val CENTER = Vector3f(0F, 1F, 0F)
+        val IDENTITY = Quaternionf()
+        val FORWARD = Vector3f(0F, 0F, 1F)
+    }
+
+    @Test
+    fun testHit() {
+        assertEquals(1.5, intersect(Vector3f(0F, 1F, -2F), FORWARD), TOLERANCE)
+        assertEquals(1.5, intersect(Vector3f(0.4F, 1.4F, -2F), FORWARD), TOLERANCE)
+    }
+
+    @Test
+    fun testMiss() {
+        assertEquals(-1.0, intersect(Vector3f(0.6F, 1F, -2F), FORWARD), TOLERANCE)
+        assertEquals(-1.0, intersect(Vector3f(0F, 1F, -2F), Vector3f(0F, 1F, 0F)), TOLERANCE)
+        assertEquals(-1.0, intersect(Vector3f(0F, 1F, 2F), FORWARD), TOLERANCE)
+    }
+
+    @Test
+    fun testReach() {
+        assertEquals(-1.0, intersect(Vector3f(0F, 1F, -6F), FORWARD), TOLERANCE)
+        assertEquals(4.5, intersect(Vector3f(0F, 1F, -5F), FORWARD), TOLERANCE)
+    }
+
+    @Test
+    fun testInside() {
+        assertEquals(0.0, intersect(Vector3f(0.2F, 1.1F, 0F), FORWARD), TOLERANCE)
+    }
+
+    @Test
+    fun testRotation() {
+        val rotation = Quaternionf().rotateY(Math.toRadians(45.0).toFloat())
+        val half = sqrt(2.0) / 2
+        assertEquals(2 - half, intersect(Vector3f(0F, 1F, -2F), FORWARD, rotation), TOLERANCE)
+        assertEquals(2 - half + 0.6, intersect(Vector3f(0.6F, 1F, -2F), FORWARD, rotation), TOLERANCE)
+    }
+
+    @Test
+    fun testScale() {
+        assertEquals(1.0, intersect(Vector3f(0F, 1F, -2F), FORWARD, scale = 2F), TOLERANCE)
+        assertEquals(1.0, intersect(Vector3f(0.8F, 1F, -2F), FORWARD, scale = 2F), TOLERANCE)
+        assertEquals(-1.0, intersect(Vector3f(0F, 1F, -2F), FORWARD, scale = 0F), TOLERANCE)
+    }
+
+    @Test
+    fun testEnclosingSize() {
+        val size = VirtualHitBox.enclosingSize(Quaternionf().rotateY(Math.toRadians(45.0).toFloat()), 2F, BOX)
+        assertEquals(2 * sqrt(2.0), size.x.toDouble(), TOLERANCE)
+        assertEquals(2.0, size.y.toDouble(), TOLERANCE)
+        assertEquals(2 * sqrt(2.0), size.z.toDouble(), TOLERANCE)
+    }
+
+    private fun intersect(
+        origin: Vector3f,
+        direction: Vector3f,
+        rotation: Quaternionf = IDENTITY,
+        scale: Float = 1F
+    ) = VirtualHitBox.intersect(origin, direction, CENTER, rotation, scale, BOX, REACH)
+}
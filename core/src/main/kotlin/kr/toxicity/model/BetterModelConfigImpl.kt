@@ -13,6 +13,7 @@ import kr.toxicity.model.api.config.ModuleConfig
 import kr.toxicity.model.api.mount.MountController
 import kr.toxicity.model.api.mount.MountControllers
 import kr.toxicity.model.api.config.PackConfig
+import kr.toxicity.model.api.tracker.TrackerClock
 import kr.toxicity.model.api.util.EntityUtil
 import kr.toxicity.model.util.ifNull
 import kr.toxicity.model.util.toPackName
@@ -65,9 +66,28 @@ class BetterModelConfigImpl(yaml: ConfigurationSection) : BetterModelConfig {
         else -> MountControllers.WALK
     }
     private val lerpFrameTime = yaml.getInt("lerp-frame-time", 5)
+    private val keyframeReductionEpsilon = yaml.getDouble("keyframe-reduction-epsilon", 0.0).toFloat().coerceAtLeast(0F)
+    private val animationCacheSize = yaml.getInt("animation-cache-size", 1024).coerceAtLeast(0)
+    private val animationWarmUp = yaml.getStringList("animation-warm-up").toSet()
+    private val frameCacheSize = yaml.getInt("frame-cache-size", 4096).coerceAtLeast(0)
     private val cancelPlayerModelInventory = yaml.getBoolean("cancel-player-model-inventory")
     private val playerHideDelay = yaml.getLong("player-hide-delay", 3L).coerceAtLeast(1L)
     private val packetBundlingSize = yaml.getInt("packet-bundling-size", 16)
+    private val packetFanOut = yaml.getBoolean("packet-fan-out", false)
+    private val packetCoalescing = yaml.getBoolean("packet-coalescing", true)
+    private val packetAggregation = yaml.getBoolean("packet-aggregation", true)
+    private val spawnBudget = yaml.getInt("spawn-budget", 0).coerceAtLeast(0)
+    private val visibleModelBudget = yaml.getInt("visible-model-budget", 0).coerceAtLeast(0)
+    private val occlusionCulling = yaml.getBoolean("occlusion-culling", false)
+    private val virtualHitBox = yaml.getBoolean("virtual-hitbox", false)
+    private val trackerWorkerCount = yaml.getInt("tracker-worker-count", -1).run {
+        if (this <= 0) Runtime.getRuntime().availableProcessors() else this
+    }
+    private val trackerShardStrategy = yaml.getString("tracker-shard-strategy")?.let {
+        runCatching {
+            TrackerClock.ShardStrategy.valueOf(it.uppercase())
+        }.getOrNull()
+    } ?: TrackerClock.ShardStrategy.LEAST_LOADED
 
     override fun debug(): DebugConfig = debug
     override fun indicator(): IndicatorConfig = indicator
@@ -89,7 +109,20 @@ class BetterModelConfigImpl(yaml: ConfigurationSection) : BetterModelConfig {
     override fun versionCheck(): Boolean = versionCheck
     override fun defaultMountController(): MountController = defaultMountController
     override fun lerpFrameTime(): Int = lerpFrameTime
+    override fun keyframeReductionEpsilon(): Float = keyframeReductionEpsilon
+    override fun animationCacheSize(): Int = animationCacheSize
+    override fun animationWarmUp(): Set<String> = animationWarmUp
+    override fun frameCacheSize(): Int = frameCacheSize
     override fun cancelPlayerModelInventory(): Boolean = cancelPlayerModelInventory
     override fun playerHideDelay(): Long = playerHideDelay
     override fun packetBundlingSize(): Int = packetBundlingSize
+    override fun packetFanOut(): Boolean = packetFanOut
+    override fun packetCoalescing(): Boolean = packetCoalescing
+    override fun packetAggregation(): Boolean = packetAggregation
+    override fun spawnBudget(): Int = spawnBudget
+    override fun visibleModelBudget(): Int = visibleModelBudget
+    override fun occlusionCulling(): Boolean = occlusionCulling
+    override fun virtualHitBox(): Boolean = virtualHitBox
+    override fun trackerWorkerCount(): Int = trackerWorkerCount
+    override fun trackerShardStrategy(): TrackerClock.ShardStrategy = trackerShardStrategy
 }
\ No newline at end of file
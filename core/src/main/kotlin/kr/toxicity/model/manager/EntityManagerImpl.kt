@@ -12,18 +12,30 @@ import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent
 import it.unimi.dsi.fastutil.objects.ReferenceSet
 import kr.toxicity.model.api.BetterModel
 import kr.toxicity.model.api.animation.AnimationModifier
+import kr.toxicity.model.api.bone.VirtualHitBox
 import kr.toxicity.model.api.manager.EntityManager
 import kr.toxicity.model.api.nms.HitBox
 import kr.toxicity.model.api.nms.ModelInteractionHand
 import kr.toxicity.model.api.pack.PackZipper
 import kr.toxicity.model.api.tracker.EntityTracker
+import kr.toxicity.model.api.tracker.ChunkSnapshotCache
 import kr.toxicity.model.api.tracker.EntityTrackerRegistry
+import kr.toxicity.model.api.tracker.SightTrace
 import kr.toxicity.model.util.PLUGIN
 import kr.toxicity.model.util.registerListener
+import org.bukkit.block.Block
 import org.bukkit.entity.Entity
 import org.bukkit.entity.Player
 import org.bukkit.event.EventHandler
 import org.bukkit.event.EventPriority
+import org.bukkit.event.block.BlockBreakEvent
+import org.bukkit.event.block.BlockBurnEvent
+import org.bukkit.event.block.BlockExplodeEvent
+import org.bukkit.event.block.BlockFadeEvent
+import org.bukkit.event.block.BlockGrowEvent
+import org.bukkit.event.block.BlockPistonExtendEvent
+import org.bukkit.event.block.BlockPistonRetractEvent
+import org.bukkit.event.block.BlockPlaceEvent
 import org.bukkit.event.Listener
 import org.bukkit.event.entity.*
 import org.bukkit.event.player.PlayerChangedWorldEvent
@@ -31,6 +43,7 @@ import org.bukkit.event.player.PlayerInteractAtEntityEvent
 import org.bukkit.event.player.PlayerInteractEntityEvent
 import org.bukkit.event.player.PlayerQuitEvent
 import org.bukkit.event.world.EntitiesLoadEvent
+import org.bukkit.event.world.ChunkUnloadEvent
 import org.bukkit.event.world.EntitiesUnloadEvent
 import org.bukkit.inventory.EquipmentSlot
 import org.bukkit.potion.PotionEffectType
@@ -91,9 +104,16 @@ object EntityManagerImpl : EntityManager, GlobalManager {
         fun PlayerQuitEvent.quit() { //Quit
             BetterModel.registryOrNull(player.uniqueId)?.close()
             PLUGIN.scheduler().asyncTask {
-                EntityTrackerRegistry.registries { registry -> registry.remove(player) }
+                EntityTrackerRegistry.registries(player.uniqueId) { registry -> registry.remove(player) }
             }
             (player.vehicle as? HitBox)?.dismount(player)
+            SightTrace.clear(player.uniqueId)
+        }
+        @EventHandler(priority = EventPriority.MONITOR)
+        fun PlayerChangedWorldEvent.changeWorld() { //World change
+            EntityTrackerRegistry.registries(player.uniqueId) { registry ->
+                if (registry.entity().world != player.world) registry.remove(player)
+            }
         }
         @EventHandler(priority = EventPriority.MONITOR)
         fun EntitiesLoadEvent.load() { //Chunk load
@@ -107,6 +127,52 @@ object EntityManagerImpl : EntityManager, GlobalManager {
                 BetterModel.registryOrNull(entity.uniqueId)?.despawn()
             }
         }
+        @EventHandler(priority = EventPriority.MONITOR)
+        fun ChunkUnloadEvent.unloadSnapshot() { //Chunk unload for occlusion culling
+            ChunkSnapshotCache.remove(world, chunk.x, chunk.z)
+        }
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        fun BlockBreakEvent.breakBlock() { //Block change for occlusion culling
+            block.invalidateSnapshot()
+        }
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        fun BlockPlaceEvent.placeBlock() {
+            block.invalidateSnapshot()
+        }
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        fun BlockBurnEvent.burnBlock() {
+            block.invalidateSnapshot()
+        }
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        fun BlockFadeEvent.fadeBlock() {
+            block.invalidateSnapshot()
+        }
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        fun BlockGrowEvent.growBlock() {
+            block.invalidateSnapshot()
+        }
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        fun EntityChangeBlockEvent.changeBlock() {
+            block.invalidateSnapshot()
+        }
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        fun BlockExplodeEvent.explodeBlock() {
+            blockList().forEach { it.invalidateSnapshot() }
+        }
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        fun EntityExplodeEvent.explodeEntity() {
+            blockList().forEach { it.invalidateSnapshot() }
+        }
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        fun BlockPistonExtendEvent.extendPiston() {
+            blocks.forEach { it.getRelative(direction).invalidateSnapshot() }
+            block.getRelative(direction).invalidateSnapshot()
+        }
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        fun BlockPistonRetractEvent.retractPiston() {
+            blocks.forEach { it.invalidateSnapshot() }
+            block.invalidateSnapshot()
+        }
         @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
         fun EntityDeathEvent.death() { //Death
             entity.forEachTracker {
@@ -144,6 +210,10 @@ object EntityManagerImpl : EntityManager, GlobalManager {
                 if (isRight && !dismount) player.triggerMount(it)
             }
         }
+        @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+        fun EntityDamageByEntityEvent.damageVirtual() { //Damage virtual hitbox
+            VirtualHitBox.attacking()?.takeIf { it.source() == entity }?.damage(this)
+        }
         @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
         fun EntityDamageEvent.damage() { //Damage
             if (this is EntityDamageByEntityEvent) {
@@ -182,6 +252,10 @@ object EntityManagerImpl : EntityManager, GlobalManager {
     }
 
     //Extension
+    private fun Block.invalidateSnapshot() {
+        ChunkSnapshotCache.invalidate(world, x shr 4, z shr 4)
+    }
+
     private fun Entity.forEachTracker(block: (EntityTracker) -> Unit) {
         BetterModel.registryOrNull(uniqueId)?.trackers()?.forEach(block)
     }
@@ -10,6 +10,7 @@ import com.google.gson.JsonArray
 import kr.toxicity.model.api.bone.BoneItemMapper
 import kr.toxicity.model.api.bone.BoneTagRegistry
 import kr.toxicity.model.api.bone.BoneTags
+import kr.toxicity.model.api.data.blueprint.AnimationBaker
 import kr.toxicity.model.api.data.blueprint.BlueprintChildren.BlueprintGroup
 import kr.toxicity.model.api.data.blueprint.BlueprintJson
 import kr.toxicity.model.api.data.blueprint.ModelBlueprint
@@ -225,6 +226,15 @@ object ModelManagerImpl : ModelManager, GlobalManager {
                             load.name.toComponent(GREEN)
                         )
                     }
+                    load.warmUp()
+                    val reducedFrame = load.reducedFrame.get()
+                    if (reducedFrame > 0) debugPack {
+                        componentOf(
+                            "Keyframes removed by reduction: ".toComponent(),
+                            load.name.toComponent(GREEN),
+                            " ($reducedFrame)".toComponent()
+                        )
+                    }
                     ModelImportedEvent(this).call()
                 }
                 if (hasTexture) load.buildImage().forEach { image ->
@@ -264,6 +274,15 @@ object ModelManagerImpl : ModelManager, GlobalManager {
             }
         }
 
+        private fun ModelBlueprint.warmUp() {
+            val warmUp = CONFIG.animationWarmUp()
+            if (warmUp.isEmpty()) return
+            val all = "*" in warmUp || name in warmUp
+            animations.values.forEach {
+                if (all || "$name:${it.name}" in warmUp) it.baker.warmUp()
+            }
+        }
+
         private fun List<BlueprintJson>.toModernJson() = if (size == 1) get(0).toModernJson() else jsonObjectOf(
             "type" to "minecraft:composite",
             "models" to fold(JsonArray(size)) { array, element -> array.apply { add(element.toModernJson()) } }
@@ -320,6 +339,7 @@ object ModelManagerImpl : ModelManager, GlobalManager {
         itemModelNamespace = NamespacedKey(CONFIG.namespace(), CONFIG.itemNamespace())
         generalModelMap.clear()
         playerModelMap.clear()
+        AnimationBaker.clear()
         loadModels(pipeline, zipper)
     }
 
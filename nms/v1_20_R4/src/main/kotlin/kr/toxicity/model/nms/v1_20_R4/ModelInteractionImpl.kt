@@ -0,0 +1,71 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.nms.v1_20_R4
+
+import kr.toxicity.model.api.nms.ModelInteraction
+import kr.toxicity.model.api.nms.PacketBundler
+import net.minecraft.network.protocol.game.ClientboundAddEntityPacket
+import net.minecraft.network.protocol.game.ClientboundRemoveEntitiesPacket
+import net.minecraft.network.protocol.game.ClientboundSetEntityDataPacket
+import net.minecraft.network.protocol.game.ClientboundTeleportEntityPacket
+import net.minecraft.server.MinecraftServer
+import net.minecraft.world.entity.EntityType
+import net.minecraft.world.entity.Interaction
+import net.minecraft.world.phys.Vec3
+import org.bukkit.Location
+
+internal class ModelInteractionImpl : ModelInteraction {
+
+    private val interaction = PacketInteraction()
+
+    override fun id(): Int = interaction.id
+
+    override fun update(location: Location, width: Float, height: Float): Boolean {
+        val moved = interaction.x != location.x || interaction.y != location.y || interaction.z != location.z
+        if (moved) interaction.moveTo(Vec3(location.x, location.y, location.z))
+        return interaction.resize(width, height) || moved
+    }
+
+    override fun spawn(bundler: PacketBundler) {
+        bundler += ClientboundAddEntityPacket(
+            interaction.id,
+            interaction.uuid,
+            interaction.x,
+            interaction.y,
+            interaction.z,
+            interaction.xRot,
+            interaction.yRot,
+            interaction.type,
+            0,
+            interaction.deltaMovement,
+            interaction.yHeadRot.toDouble()
+        )
+        interaction.entityData.pack()?.let {
+            bundler += ClientboundSetEntityDataPacket(interaction.id, it)
+        }
+    }
+
+    override fun move(bundler: PacketBundler) {
+        bundler += ClientboundTeleportEntityPacket(interaction)
+        interaction.entityData.packDirty()?.let {
+            bundler += ClientboundSetEntityDataPacket(interaction.id, it)
+        }
+    }
+
+    override fun remove(bundler: PacketBundler) {
+        bundler += ClientboundRemoveEntitiesPacket(interaction.id)
+    }
+
+    private class PacketInteraction : Interaction(EntityType.INTERACTION, MinecraftServer.getServer().overworld()) {
+        fun resize(width: Float, height: Float): Boolean {
+            if (this.width == width && this.height == height) return false
+            this.width = width
+            this.height = height
+            return true
+        }
+    }
+}
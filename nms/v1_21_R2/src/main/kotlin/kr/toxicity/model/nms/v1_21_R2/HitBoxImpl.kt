@@ -91,6 +91,7 @@ internal class HitBoxImpl(
     }
     
     init {
+        HITBOX_IDS.add(id)
         moveTo(delegate.position())
         isInvisible = true
         persist = false
@@ -309,6 +310,7 @@ internal class HitBoxImpl(
 
     @Suppress("removal", "NULLABILITY_MISMATCH_BASED_ON_JAVA_ANNOTATIONS", "WRONG_NULLABILITY_FOR_JAVA_OVERRIDE")
     override fun remove(reason: RemovalReason, cause: org.bukkit.event.entity.EntityRemoveEvent.Cause?) { //Compiler incorrectly considers it as non-null by some reason :(
+        HITBOX_IDS.remove(id)
         initialSetup()
         listener.remove(craftEntity)
         interaction.remove(reason)
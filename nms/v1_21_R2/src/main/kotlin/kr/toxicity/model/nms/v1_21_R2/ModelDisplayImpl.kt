@@ -30,6 +30,12 @@ import org.joml.Vector3f
 import java.util.*
 import java.util.concurrent.atomic.AtomicBoolean
 
+private val SPAWN_DATA = listOf(SynchedEntityData.DataValue(
+    Display.DATA_POS_ROT_INTERPOLATION_DURATION_ID.id,
+    Display.DATA_POS_ROT_INTERPOLATION_DURATION_ID.serializer,
+    3
+))
+
 internal class ModelDisplayImpl(
     val display: ItemDisplay,
     val yOffset: Double
@@ -39,6 +45,21 @@ internal class ModelDisplayImpl(
     private val entityDataLock = SingleLock()
     private val forceGlow = AtomicBoolean()
     private val forceInvisibility = AtomicBoolean()
+    @Volatile
+    private var dataTemplate: DataTemplate? = null
+
+    /**
+     * Packed entity data shared by every spawn until some entity data is changed.
+     */
+    private class DataTemplate(
+        val shown: ClientboundSetEntityDataPacket?,
+        val hidden: ClientboundSetEntityDataPacket?
+    )
+
+    private inline fun <T> editEntityData(crossinline block: () -> T): T = entityDataLock.accessToLock {
+        dataTemplate = null
+        block()
+    }
 
     override fun id(): Int = display.id
     override fun uuid(): UUID = display.uuid
@@ -56,7 +77,7 @@ internal class ModelDisplayImpl(
 
     override fun invisible(invisible: Boolean) {
         if (forceInvisibility.compareAndSet(!invisible, invisible)) {
-            entityDataLock.accessToLock {
+            editEntityData {
                 entityData.markDirty(ITEM_SERIALIZER)
             }
         }
@@ -67,9 +88,12 @@ internal class ModelDisplayImpl(
         display.onGround = entity.ground()
         val beforeInvisible = display.isInvisible
         val afterInvisible = entity.invisible()
-        entityDataLock.accessToLock {
-            display.setGlowingTag(entity.glow() || forceGlow.get())
-            if (CONFIG.followMobInvisibility() && beforeInvisible != afterInvisible) {
+        val glow = entity.glow() || forceGlow.get()
+        val changeInvisible = CONFIG.followMobInvisibility() && beforeInvisible != afterInvisible
+        if (display.hasGlowingTag() == glow && !changeInvisible) return
+        editEntityData {
+            display.setGlowingTag(glow)
+            if (changeInvisible) {
                 display.isInvisible = afterInvisible
                 entityData.markDirty(ITEM_SERIALIZER)
             }
@@ -84,11 +108,7 @@ internal class ModelDisplayImpl(
 
     override fun spawn(showItem: Boolean, bundler: PacketBundler) {
         bundler += addPacket
-        bundler += ClientboundSetEntityDataPacket(display.id, listOf(SynchedEntityData.DataValue(
-            Display.DATA_POS_ROT_INTERPOLATION_DURATION_ID.id,
-            Display.DATA_POS_ROT_INTERPOLATION_DURATION_ID.serializer,
-            3
-        )))
+        bundler += ClientboundSetEntityDataPacket(display.id, SPAWN_DATA)
     }
 
     override fun remove(bundler: PacketBundler) {
@@ -117,25 +137,25 @@ internal class ModelDisplayImpl(
     }
 
     override fun display(transform: org.bukkit.entity.ItemDisplay.ItemDisplayTransform) {
-        entityDataLock.accessToLock {
+        editEntityData {
             display.itemTransform = ItemDisplayContext.BY_ID.apply(transform.ordinal)
         }
     }
 
     override fun moveDuration(duration: Int) {
-        entityDataLock.accessToLock {
+        editEntityData {
             entityData[Display.DATA_POS_ROT_INTERPOLATION_DURATION_ID] = duration
         }
     }
 
     override fun item(itemStack: ItemStack) {
-        entityDataLock.accessToLock {
+        editEntityData {
             display.itemStack = itemStack.asVanilla()
         }
     }
 
     override fun brightness(block: Int, sky: Int) {
-        entityDataLock.accessToLock {
+        editEntityData {
             display.brightnessOverride = if (block < 0 && sky < 0) null else Brightness(
                 block,
                 sky
@@ -144,32 +164,32 @@ internal class ModelDisplayImpl(
     }
 
     override fun viewRange(range: Float) {
-        entityDataLock.accessToLock {
+        editEntityData {
             display.viewRange = range
         }
     }
 
     override fun shadowRadius(radius: Float) {
-        entityDataLock.accessToLock {
+        editEntityData {
             display.shadowRadius = radius
         }
     }
 
     override fun glow(glow: Boolean) {
         if (!forceGlow.compareAndSet(!glow, glow)) return
-        entityDataLock.accessToLock {
+        editEntityData {
             display.setGlowingTag(display.isCurrentlyGlowing || glow)
         }
     }
 
     override fun glowColor(glowColor: Int) {
-        entityDataLock.accessToLock {
+        editEntityData {
             display.glowColorOverride = glowColor
         }
     }
 
     override fun billboard(billboard: org.bukkit.entity.Display.Billboard) {
-        entityDataLock.accessToLock {
+        editEntityData {
             display.billboardConstraints = Display.BillboardConstraints.BY_ID.apply(billboard.ordinal)
         }
     }
@@ -193,12 +213,20 @@ internal class ModelDisplayImpl(
     }
 
     override fun sendEntityData(showItem: Boolean, bundler: PacketBundler) {
-        entityDataLock.accessToLock {
-            entityData.pack(
+        val template = dataTemplate ?: entityDataLock.accessToLock {
+            dataTemplate ?: entityData.pack(
                 valueFilter = { ITEM_ENTITY_DATA.contains(it.id) }
-            )
-        }?.markVisible(showItem && !invisible())?.run {
-            bundler += ClientboundSetEntityDataPacket(display.id, this)
+            ).let { values ->
+                DataTemplate(
+                    values?.let { ClientboundSetEntityDataPacket(display.id, it.markVisible(!invisible())) },
+                    values?.let { ClientboundSetEntityDataPacket(display.id, it.markVisible(false)) }
+                )
+            }.also {
+                dataTemplate = it
+            }
+        }
+        (if (showItem) template.shown else template.hidden)?.let {
+            bundler += it
         }
     }
 
@@ -234,6 +262,8 @@ internal class ModelDisplayImpl(
         private val id = source.id
         private val entityData = TransformationData()
         private val entityDataLock = SingleLock()
+        @Volatile
+        private var template: ClientboundSetEntityDataPacket? = null
 
         override fun transform(
             duration: Int,
@@ -243,6 +273,7 @@ internal class ModelDisplayImpl(
             bundler: PacketBundler
         ) {
             entityDataLock.accessToLock {
+                template = null
                 entityData.transform(
                     duration,
                     position,
@@ -256,10 +287,10 @@ internal class ModelDisplayImpl(
         }
 
         override fun sendTransformation(bundler: PacketBundler) {
-            entityDataLock.accessToLock {
-                entityData.pack()
-            }?.run {
-                bundler += ClientboundSetEntityDataPacket(id, this)
+            bundler += template ?: entityDataLock.accessToLock {
+                template ?: ClientboundSetEntityDataPacket(id, entityData.pack()).also {
+                    template = it
+                }
             }
         }
     }
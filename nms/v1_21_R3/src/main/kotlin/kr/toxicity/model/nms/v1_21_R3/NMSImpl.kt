@@ -11,13 +11,17 @@ import com.mojang.authlib.GameProfile
 import io.netty.channel.ChannelDuplexHandler
 import io.netty.channel.ChannelHandlerContext
 import io.netty.channel.ChannelPromise
+import it.unimi.dsi.fastutil.ints.Int2ObjectLinkedOpenHashMap
 import kr.toxicity.model.api.BetterModel
 import kr.toxicity.model.api.bone.RenderedBone
+import kr.toxicity.model.api.bone.VirtualHitBox
 import kr.toxicity.model.api.data.blueprint.NamedBoundingBox
 import kr.toxicity.model.api.mount.MountController
 import kr.toxicity.model.api.nms.*
 import kr.toxicity.model.api.tracker.EntityTrackerRegistry
+import kr.toxicity.model.api.tracker.TrackerClock
 import kr.toxicity.model.api.tracker.TrackerUpdateAction
+import kr.toxicity.model.api.util.StripedIntSet
 import kr.toxicity.model.api.util.TransformedItemStack
 import net.kyori.adventure.key.Keyed
 import net.minecraft.core.NonNullList
@@ -33,6 +37,7 @@ import net.minecraft.server.level.ServerLevel
 import net.minecraft.server.level.ServerPlayer
 import net.minecraft.server.network.ServerCommonPacketListenerImpl
 import net.minecraft.util.ARGB
+import net.minecraft.world.InteractionHand
 import net.minecraft.world.effect.MobEffects
 import net.minecraft.world.entity.Display
 import net.minecraft.world.entity.Display.ItemDisplay
@@ -48,6 +53,7 @@ import net.minecraft.world.item.component.ResolvableProfile
 import net.minecraft.world.level.entity.LevelEntityGetter
 import net.minecraft.world.level.entity.LevelEntityGetterAdapter
 import net.minecraft.world.level.entity.PersistentEntitySectionManager
+import net.minecraft.world.phys.Vec3
 import org.bukkit.Location
 import org.bukkit.OfflinePlayer
 import org.bukkit.craftbukkit.CraftOfflinePlayer
@@ -58,17 +64,36 @@ import org.bukkit.entity.Player
 import org.bukkit.inventory.ItemStack
 import org.joml.Vector3f
 import java.util.*
+import java.util.concurrent.ConcurrentHashMap
 import java.util.function.Consumer
 
 class NMSImpl : NMS {
 
     companion object {
         private const val INJECT_NAME = "bettermodel_channel_handler"
+        internal const val BUNDLE_SIZE_LIMIT = 4096
+        private val HANDLED_PACKET = object : ClassValue<Boolean>() {
+            private val types = listOf(
+                ClientboundBundlePacket::class.java,
+                ClientboundAddEntityPacket::class.java,
+                ClientboundRemoveEntitiesPacket::class.java,
+                ClientboundSetPassengersPacket::class.java,
+                ClientboundUpdateAttributesPacket::class.java,
+                ClientboundSetEntityDataPacket::class.java,
+                ClientboundSetEquipmentPacket::class.java,
+                ClientboundRespawnPacket::class.java,
+                ClientboundContainerSetSlotPacket::class.java,
+                ClientboundContainerSetContentPacket::class.java
+            )
+            override fun computeValue(type: Class<*>): Boolean = types.any { it.isAssignableFrom(type) }
+        }
+        private val Packet<*>.isHandled get() = HANDLED_PACKET[javaClass]
 
         //Spigot
         private val getGameProfile: (net.minecraft.world.entity.player.Player) -> GameProfile = createAdaptedFieldGetter { it.gameProfile }
         private val getOfflineGameProfile: (CraftOfflinePlayer) -> GameProfile = createAdaptedFieldGetter()
-        private val getConnection: (ServerCommonPacketListenerImpl) -> Connection = createAdaptedFieldGetter { it.connection }
+        internal val getConnection: (ServerCommonPacketListenerImpl) -> Connection = createAdaptedFieldGetter { it.connection }
+        private val getInteractEntityId: (ServerboundInteractPacket) -> Int = createAdaptedFieldGetter()
         private val spigotChunkAccess = ServerLevel::class.java.fields.firstOrNull {
             it.type == PersistentEntitySectionManager::class.java
         }?.apply {
@@ -128,15 +153,36 @@ class NMSImpl : NMS {
         ) else it
     })
 
+    private val aggregatedChannels = ConcurrentHashMap.newKeySet<PlayerChannelHandlerImpl>()
+    private val aggregationTask by lazy {
+        TrackerClock.clock().addFrameTask {
+            val iterator = aggregatedChannels.iterator()
+            while (iterator.hasNext()) {
+                val handler = iterator.next()
+                iterator.remove()
+                handler.flushOutbound()
+            }
+        }
+    }
+
+    private fun aggregate(handler: PlayerChannelHandlerImpl) {
+        aggregationTask
+        aggregatedChannels += handler
+    }
+
     inner class PlayerChannelHandlerImpl(
         private val player: Player
     ) : PlayerChannelHandler, ChannelDuplexHandler() {
         private val connection = (player as CraftPlayer).handle.connection
+        private val channel = getConnection(connection).channel
         private val uuid = player.uniqueId
         private val slim = BetterModel.plugin().skinManager().isSlim(profile())
+        private val pendingData = Int2ObjectLinkedOpenHashMap<Int2ObjectLinkedOpenHashMap<SynchedEntityData.DataValue<*>>>()
+        private val outbound = ArrayList<EncodedBundle>()
+        private val modelEntityIds = StripedIntSet()
 
         init {
-            val pipeLine = getConnection(connection).channel.pipeline()
+            val pipeLine = channel.pipeline()
             pipeLine.toMap().forEach {
                 if (it.value is Connection) pipeLine.addBefore(it.key, INJECT_NAME, this)
             }
@@ -146,26 +192,120 @@ class NMSImpl : NMS {
         override fun id(): Int = connection.player.id
         override fun uuid(): UUID = uuid
         override fun close() {
-            val channel = getConnection(connection).channel
             channel.eventLoop().submit {
                 channel.pipeline().remove(INJECT_NAME)
             }
         }
 
         override fun player(): Player = player
+
+        internal fun deliver(bundle: PluginBundlePacketImpl, onSuccess: Runnable?) {
+            if (onSuccess == null && CONFIG.packetAggregation()) return enqueue(listOf(EncodedBundle(bundle)))
+            flushOutbound()
+            write(bundle, onSuccess)
+        }
+
+        /**
+         * Delivers fanned-out bundles, appending them to the aggregated bundles if packet aggregation is enabled.
+         */
+        internal fun writeEncoded(bundles: List<EncodedBundle>) {
+            if (CONFIG.packetAggregation()) return enqueue(bundles)
+            flushOutbound()
+            channel.eventLoop().execute { writeOutbound(bundles) }
+        }
+
+        private fun enqueue(bundles: List<EncodedBundle>) {
+            synchronized(outbound) {
+                outbound += bundles
+            }
+            aggregate(this)
+        }
+
+        internal fun flushOutbound() {
+            synchronized(outbound) {
+                if (outbound.isEmpty()) return
+                val bundles = ArrayList(outbound)
+                outbound.clear()
+                channel.eventLoop().execute { writeOutbound(bundles) }
+            }
+        }
+
+        /**
+         * Writes bundles and flushes them in one event loop task.
+         * If some of them are fanned out, every packet is written encoded with consecutive removals merged, skipping this handler's channel write,
+         * whose [handle] passes plugin bundles unchanged anyway.
+         * Otherwise, or if the channel is saturated or not in the game protocol, packets are sent as merged bundles.
+         */
+        private fun writeOutbound(bundles: List<EncodedBundle>) {
+            try {
+                val context = connection.encoderContext()
+                if (context != null && channel.isWritable && bundles.any { it.isEncoded } && synchronized(pendingData) { pendingData.isEmpty() }) {
+                    return context.writeBundles(bundles)
+                }
+                var bundler = bundlerOf(bundles.sumOf { it.bundle.size() }.coerceAtMost(BUNDLE_SIZE_LIMIT))
+                bundles.forEach { encoded ->
+                    encoded.bundle.forEach {
+                        if (bundler.size() >= BUNDLE_SIZE_LIMIT) {
+                            write(bundler, null)
+                            bundler.release()
+                            bundler = bundlerOf(BUNDLE_SIZE_LIMIT)
+                        }
+                        bundler += it
+                    }
+                }
+                write(bundler, null)
+                bundler.release()
+            } finally {
+                bundles.forEach(EncodedBundle::release)
+            }
+        }
+
+        private fun write(bundle: PluginBundlePacketImpl, onSuccess: Runnable?) {
+            if (!channel.isWritable && CONFIG.packetCoalescing() && bundle.all { it is ClientboundSetEntityDataPacket }) {
+                synchronized(pendingData) {
+                    bundle.forEach {
+                        it as ClientboundSetEntityDataPacket
+                        val values = pendingData.computeIfAbsent(it.id) { Int2ObjectLinkedOpenHashMap() }
+                        it.packedItems.forEach { value -> values.put(value.id, value) }
+                    }
+                }
+                onSuccess?.run()
+                return
+            }
+            flushPending()
+            connection.send(bundle.bundlePacket, bundle.sendListener(onSuccess))
+        }
+
+        private fun flushPending() {
+            synchronized(pendingData) {
+                if (pendingData.isEmpty()) return
+                val bundler = bundlerOf(pendingData.size)
+                pendingData.int2ObjectEntrySet().fastForEach {
+                    bundler += ClientboundSetEntityDataPacket(it.intKey, ArrayList(it.value.values))
+                }
+                pendingData.clear()
+                connection.send(bundler.bundlePacket, bundler.sendListener(null))
+                bundler.release()
+            }
+        }
+
         private val playerModel get() = connection.player.id.toRegistry()
 
         private fun Int.toPlayerEntity() = toEntity(connection.player.serverLevel())
         private fun Entity.toRegistry() = BetterModel.registryOrNull(uuid)
         private inline fun Int.toRegistry(
             ifHitBox: (Entity) -> Unit = {}
-        ) = (EntityTrackerRegistry.registry(this) ?: toPlayerEntity()?.let {
+        ) = (if (this in modelEntityIds || this in HITBOX_IDS) EntityTrackerRegistry.registry(this) ?: toPlayerEntity()?.let {
             if (it is HitBox) ifHitBox(it)
             it.toRegistry()
-        })?.takeIf {
+        } else null)?.takeIf {
             it.isSpawned(player)
         }
 
+        override fun viewModelEntity(id: Int, viewed: Boolean) {
+            if (viewed) modelEntityIds.add(id) else modelEntityIds.remove(id)
+        }
+
         override fun sendEntityData(registry: EntityTrackerRegistry) {
             val handle = registry.adapter().handle() as Entity
             val list = bundlerOf(
@@ -184,15 +324,16 @@ class NMSImpl : NMS {
 
         private fun <T : ClientGamePacketListener> Packet<in T>.handle(): Packet<in T>? {
             when (this) {
-                is ClientboundBundlePacket -> return if (subPackets() is Keyed) this else ClientboundBundlePacket(subPackets().mapNotNull {
-                    it.handle()
-                })
+                is ClientboundBundlePacket -> return handleBundle()
                 is ClientboundAddEntityPacket -> {
+                    if (id in HITBOX_IDS) id.toPlayerEntity()?.takeIf { it is HitBox }?.let {
+                        return it.toFakeAddPacket()
+                    }
+                    if (EntityTrackerRegistry.registry(id) == null) return this
                     val entity = id.toPlayerEntity() ?: return this
-                    if (entity is HitBox) return entity.toFakeAddPacket()
                     BetterModel.registry(entity.bukkitEntity).ifPresent {
                         BetterModel.plugin().scheduler().taskLater(entity.bukkitEntity, 1) {
-                            it.spawn(player)
+                            it.scheduleSpawn(player)
                         }
                     }
                 }
@@ -213,7 +354,7 @@ class NMSImpl : NMS {
                         return it.mountPacket(array = passengers)
                     }
                 }
-                is ClientboundUpdateAttributesPacket if entityId.toPlayerEntity() is HitBox -> return null
+                is ClientboundUpdateAttributesPacket if entityId in HITBOX_IDS -> return null
                 is ClientboundSetEntityDataPacket -> id.toRegistry {
                     return ClientboundSetEntityDataPacket(id, hitBoxData)
                 }?.let { registry ->
@@ -245,8 +386,28 @@ class NMSImpl : NMS {
             return this
         }
 
+        private fun ClientboundBundlePacket.handleBundle(): ClientboundBundlePacket {
+            val packets = subPackets()
+            if (packets is Keyed) return this
+            var changed: MutableList<Packet<in ClientGamePacketListener>>? = null
+            for ((index, packet) in packets.withIndex()) {
+                val handled = if (packet.isHandled) packet.handle() else packet
+                if (changed == null) {
+                    if (handled === packet) continue
+                    changed = packets.take(index).toMutableList()
+                }
+                if (handled != null) changed.add(handled)
+            }
+            return changed?.let(::ClientboundBundlePacket) ?: this
+        }
+
+        override fun channelWritabilityChanged(ctx: ChannelHandlerContext) {
+            if (ctx.channel().isWritable) flushPending()
+            super.channelWritabilityChanged(ctx)
+        }
+
         override fun write(ctx: ChannelHandlerContext, msg: Any, promise: ChannelPromise) {
-            super.write(ctx, if (msg is Packet<*>) msg.handle() ?: return else msg, promise)
+            super.write(ctx, if (msg is Packet<*> && msg.isHandled) msg.handle() ?: return else msg, promise)
         }
 
         override fun channelRead(ctx: ChannelHandlerContext, msg: Any) {
@@ -277,10 +438,39 @@ class NMSImpl : NMS {
                         registry.updatePlayerLimb()
                     }
                 }
+                is ServerboundInteractPacket -> {
+                    VirtualHitBox.byId(getInteractEntityId(msg))?.let { hitBox ->
+                        BetterModel.plugin().scheduler().task(player) {
+                            msg.dispatch(hitBox.interactHandler())
+                        }
+                        return
+                    }
+                }
             }
             super.channelRead(ctx, msg)
         }
 
+        private fun VirtualHitBox.interactHandler() = object : ServerboundInteractPacket.Handler {
+            override fun onInteraction(hand: InteractionHand) {
+                if (hit(player) != null) triggerInteract(player, hand.toModel())
+            }
+
+            override fun onInteraction(hand: InteractionHand, pos: Vec3) {
+                hit(player)?.let {
+                    triggerInteractAt(player, hand.toModel(), it.position())
+                }
+            }
+
+            override fun onAttack() {
+                if (hit(player) != null) attack(player)
+            }
+        }
+
+        private fun InteractionHand.toModel() = when (this) {
+            InteractionHand.MAIN_HAND -> ModelInteractionHand.RIGHT
+            InteractionHand.OFF_HAND -> ModelInteractionHand.LEFT
+        }
+
         private fun EntityTrackerRegistry.remove() {
             remove(player)
         }
@@ -328,6 +518,7 @@ class NMSImpl : NMS {
     }
 
     override fun createNametag(bone: RenderedBone): ModelNametag = ModelNametagImpl(bone)
+    override fun createInteraction(): ModelInteraction = ModelInteractionImpl()
 
     override fun tint(itemStack: ItemStack, rgb: Int): ItemStack {
         return itemStack.asVanilla().apply {
@@ -356,6 +547,9 @@ class NMSImpl : NMS {
             mountController
         ).craftEntity
     }
+    override fun attack(player: Player, target: org.bukkit.entity.Entity) {
+        (player as CraftPlayer).handle.attack((target as CraftEntity).vanillaEntity)
+    }
     override fun version(): NMSVersion = NMSVersion.V1_21_R3
 
     override fun adapt(entity: org.bukkit.entity.Entity): EntityAdapter {
@@ -6,29 +6,62 @@
  */
 package kr.toxicity.model.nms.v1_21_R3
 
+import io.netty.buffer.ByteBuf
+import io.netty.buffer.Unpooled
+import io.netty.channel.ChannelHandlerContext
+import it.unimi.dsi.fastutil.ints.IntArrayList
 import kr.toxicity.library.sharedpackets.PluginBundlePacket
+import kr.toxicity.model.api.BetterModel
 import kr.toxicity.model.api.nms.PacketBundler
 import net.kyori.adventure.key.Key
 import net.minecraft.network.PacketSendListener
+import net.minecraft.network.RegistryFriendlyByteBuf
 import net.minecraft.network.protocol.Packet
+import net.minecraft.network.protocol.game.ClientboundAddEntityPacket
+import net.minecraft.network.protocol.game.ClientboundBundleDelimiterPacket
 import net.minecraft.network.protocol.game.ClientboundBundlePacket
+import net.minecraft.network.protocol.game.ClientboundRemoveEntitiesPacket
 import net.minecraft.network.protocol.game.ClientboundSetEntityDataPacket
 import net.minecraft.network.protocol.game.ClientboundSetEquipmentPacket
+import net.minecraft.network.protocol.game.GameProtocols
+import net.minecraft.server.MinecraftServer
+import net.minecraft.server.network.ServerGamePacketListenerImpl
 import org.bukkit.craftbukkit.entity.CraftPlayer
 import org.bukkit.entity.Player
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicInteger
 
 private val KEY = Key.key("bettermodel")
+private const val ENCODER_NAME = "encoder"
+private val PACKET_CODEC by lazy {
+    GameProtocols.CLIENTBOUND_TEMPLATE.bind(RegistryFriendlyByteBuf.decorator(MinecraftServer.getServer().registryAccess())).codec()
+}
+
+private val DELIMITER by lazy {
+    Unpooled.unreleasableBuffer(ClientboundBundleDelimiterPacket().encode())
+}
 
-internal fun bundlerOfNotNull(vararg packets: ClientPacket?) = SimpleBundler(if (packets.isEmpty()) arrayListOf() else packets.filterNotNull().toMutableList())
-internal fun bundlerOf(vararg packets: ClientPacket) = SimpleBundler(if (packets.isEmpty()) arrayListOf() else packets.toMutableList())
-internal fun bundlerOf(size: Int) = SimpleBundler(ArrayList(size))
-internal fun lazyBundlerOf() = LazyBundler()
-internal fun parallelBundlerOf(threshold: Int) = ParallelBundler(threshold)
-private fun uoe() = UnsupportedOperationException("cannot be added after PacketBundler#send is called.")
+private const val POOL_SIZE = 1024
+private const val INITIAL_CAPACITY = 16
+private val SIMPLE_POOL = BundlerPool(::SimpleBundler)
+private val PARALLEL_POOL = BundlerPool(::ParallelBundler)
+
+internal fun bundlerOfNotNull(vararg packets: ClientPacket?): SimpleBundler = bundlerOf(packets.size).apply {
+    packets.forEach { if (it != null) add(it) }
+}
+internal fun bundlerOf(vararg packets: ClientPacket): SimpleBundler = bundlerOf(packets.size).apply {
+    packets.forEach { add(it) }
+}
+internal fun bundlerOf(size: Int): SimpleBundler = SIMPLE_POOL.acquire().apply {
+    ensureCapacity(size)
+}
+internal fun lazyBundlerOf(): SimpleBundler = bundlerOf(0)
+internal fun parallelBundlerOf(threshold: Int): ParallelBundler = PARALLEL_POOL.acquire().apply {
+    this.threshold = threshold
+}
 internal operator fun PacketBundler.plusAssign(other: ClientPacket) {
     when (this) {
         is SimpleBundler -> add(other)
-        is LazyBundler -> add(other)
         is ParallelBundler -> add(other)
         else -> throw RuntimeException("unsupported bundler.")
     }
@@ -39,88 +72,246 @@ internal fun Packet<*>.assumeSize() = when (this) {
     else -> 1
 }
 
+internal fun ServerGamePacketListenerImpl.encoderContext(): ChannelHandlerContext? {
+    val connection = NMSImpl.getConnection(this)
+    if (connection.packetListener !== this) return null
+    return connection.channel.pipeline().context(ENCODER_NAME)
+}
+
+private fun ClientPacket.encode(): ByteBuf = Unpooled.buffer().also {
+    PACKET_CODEC.encode(it, this)
+}
+
+private val Player.channelHandler
+    get() = BetterModel.plugin().playerManager().player(uniqueId) as? NMSImpl.PlayerChannelHandlerImpl
+
+/**
+ * Sends bundle through the player's channel handler.
+ * Bundles without a listener are aggregated per player, and entity data is coalesced while the channel is saturated.
+ */
+private fun Player.deliver(bundle: PluginBundlePacketImpl, onSuccess: Runnable?) {
+    channelHandler?.deliver(bundle, onSuccess) ?: (this as CraftPlayer).handle.connection.send(bundle.bundlePacket, bundle.sendListener(onSuccess))
+}
+
+/**
+ * Encodes bundles once and hands retained duplicates to every player's channel handler.
+ * Handlers aggregate them with other bundles if packet aggregation is enabled.
+ * Removal-only bundles are not encoded in advance, so removals of every bundle in a flush can be merged.
+ * Players without a channel handler are sent by fallback.
+ */
+private fun Collection<Player>.fanOut(bundles: List<PluginBundlePacketImpl>, fallback: (Player) -> Unit) {
+    if (size < 2 || !CONFIG.packetFanOut()) return forEach(fallback)
+    val nonEmpty = bundles.filterNot(PluginBundlePacketImpl::isEmpty)
+    if (nonEmpty.isEmpty()) return
+    val encoded = nonEmpty.map { bundle ->
+        if (bundle.all { it is ClientboundRemoveEntitiesPacket }) null else bundle.map { it.encode() }
+    }
+    try {
+        forEach { player ->
+            val handler = player.channelHandler ?: return@forEach fallback(player)
+            handler.writeEncoded(nonEmpty.mapIndexed { index, bundle -> EncodedBundle(bundle, encoded[index]) })
+        }
+    } finally {
+        encoded.forEach { it?.forEach(ByteBuf::release) }
+    }
+}
+
+/**
+ * Writes bundles as delimited encoded packets and flushes them.
+ * It must be called in the channel's event loop, so no other packet is written between the delimiters.
+ * Consecutive entity removals of bundles not encoded in advance are merged into one packet.
+ * Bytes are written below the encoder and skip every handler above it, including the player's channel handler.
+ */
+internal fun ChannelHandlerContext.writeBundles(bundles: List<EncodedBundle>) {
+    var count = 0
+    val removed = IntArrayList()
+    fun writePacket(buf: ByteBuf) {
+        if (count == NMSImpl.BUNDLE_SIZE_LIMIT) {
+            write(DELIMITER.duplicate(), voidPromise())
+            write(DELIMITER.duplicate(), voidPromise())
+            count = 0
+        }
+        write(buf, voidPromise())
+        count++
+    }
+    fun writeRemoved() {
+        if (removed.isEmpty) return
+        writePacket(ClientboundRemoveEntitiesPacket(removed).encode())
+        removed.clear()
+    }
+    write(DELIMITER.duplicate(), voidPromise())
+    bundles.forEach { bundle ->
+        if (bundle.isEncoded) {
+            writeRemoved()
+            bundle.forEachEncoded(::writePacket)
+        } else bundle.bundle.forEach {
+            if (it is ClientboundRemoveEntitiesPacket) removed.addAll(it.entityIds)
+            else {
+                writeRemoved()
+                writePacket(it.encode())
+            }
+        }
+    }
+    writeRemoved()
+    write(DELIMITER.duplicate(), voidPromise())
+    flush()
+}
+
+/**
+ * Creates a send listener which keeps this bundle from being recycled until it is written.
+ */
+internal fun PluginBundlePacketImpl.sendListener(onSuccess: Runnable?): PacketSendListener {
+    retain()
+    return PacketSendListener.thenRun {
+        release()
+        onSuccess?.run()
+    }
+}
+
+/**
+ * A bounded pool of released bundlers.
+ */
+private class BundlerPool<T : Any>(private val factory: () -> T) {
+    private val queue = ConcurrentLinkedQueue<T>()
+    private val size = AtomicInteger()
+
+    fun acquire(): T = queue.poll()?.also {
+        size.decrementAndGet()
+    } ?: factory()
+
+    fun recycle(bundler: T) {
+        if (size.incrementAndGet() > POOL_SIZE) size.decrementAndGet() else queue.offer(bundler)
+    }
+}
+
+/**
+ * A bundle retained until it is written, with its packets encoded in advance if it is fanned out.
+ */
+internal class EncodedBundle(val bundle: PluginBundlePacketImpl, encoded: List<ByteBuf>? = null) {
+    private val encoded = encoded?.map(ByteBuf::retainedDuplicate)
+    val isEncoded get() = encoded != null
+
+    init {
+        bundle.retain()
+    }
+
+    fun forEachEncoded(block: (ByteBuf) -> Unit) {
+        encoded?.forEach { block(it.retainedDuplicate()) }
+    }
+
+    fun release() {
+        encoded?.forEach(ByteBuf::release)
+        bundle.release()
+    }
+}
+
 internal interface PluginBundlePacketImpl : PluginBundlePacket<ClientPacket> {
     val bundlePacket: ClientboundBundlePacket
     fun size(): Int
     fun isEmpty(): Boolean
     fun add(other: ClientPacket)
+    fun retain()
+    fun release()
 }
 
-internal class SimpleBundler(
-    private val list: MutableList<ClientPacket>
-) : PacketBundler, PluginBundlePacketImpl {
+/**
+ * An array-backed bundler.
+ * It is recycled to the pool when its owner releases it and every pending write is finished.
+ * Consecutive entity removals are merged into one packet until some entity is added.
+ */
+internal class SimpleBundler : PacketBundler, PluginBundlePacketImpl {
+    private var array = arrayOfNulls<ClientPacket>(INITIAL_CAPACITY)
+    private var count = 0
+    private var removeIndex = -1
+    private val refCnt = AtomicInteger(1)
+
     override val bundlePacket = ClientboundBundlePacket(this)
-    override fun send(player: Player, onSuccess: Runnable) {
+    override fun send(player: Player) {
         if (isEmpty) return
-        val connection = (player as CraftPlayer).handle.connection
-        connection.send(bundlePacket, PacketSendListener.thenRun(onSuccess))
+        player.deliver(this, null)
     }
-    override fun isEmpty(): Boolean = list.isEmpty()
-    override fun size(): Int = list.size
-    override fun key(): Key = KEY
-    override fun iterator(): MutableIterator<ClientPacket> = list.iterator()
-    override fun add(other: ClientPacket) {
-        list += other
-    }
-}
-
-internal class LazyBundler : PacketBundler, PluginBundlePacketImpl {
-    private var index = 0
-    private var listBuilder: (MutableList<ClientPacket>) -> Unit = {}
-    private val list by lazy {
-        sent = true
-        ArrayList<ClientPacket>(index).also(listBuilder)
-    }
-    private var sent = false
-
-    override val bundlePacket = ClientboundBundlePacket(this)
     override fun send(player: Player, onSuccess: Runnable) {
         if (isEmpty) return
-        val connection = (player as CraftPlayer).handle.connection
-        connection.send(bundlePacket, PacketSendListener.thenRun(onSuccess))
+        player.deliver(this, onSuccess)
     }
-    override fun isEmpty(): Boolean = size() == 0
-    override fun size(): Int = index
+    override fun send(players: Collection<Player>) {
+        if (isEmpty) return
+        players.fanOut(listOf(this)) { send(it) }
+    }
+    override fun isEmpty(): Boolean = count == 0
+    override fun size(): Int = count
     override fun key(): Key = KEY
-    override fun iterator(): MutableIterator<ClientPacket> = list.iterator()
+    override fun iterator(): MutableIterator<ClientPacket> = object : MutableIterator<ClientPacket> {
+        private var index = 0
+        override fun hasNext(): Boolean = index < count
+        override fun next(): ClientPacket = if (hasNext()) array[index++]!! else throw NoSuchElementException()
+        override fun remove() = throw UnsupportedOperationException()
+    }
+    fun ensureCapacity(capacity: Int) {
+        if (capacity > array.size) array = array.copyOf(capacity)
+    }
     override fun add(other: ClientPacket) {
-        if (sent) throw uoe()
-        if (index++ == 0) {
-            listBuilder = { it += other }
-            return
-        }
-        val previous = listBuilder
-        listBuilder = {
-            previous(it)
-            it += other
+        when (other) {
+            is ClientboundRemoveEntitiesPacket -> {
+                if (removeIndex >= 0) {
+                    (array[removeIndex] as ClientboundRemoveEntitiesPacket).entityIds.addAll(other.entityIds)
+                    return
+                }
+                removeIndex = count
+                return append(ClientboundRemoveEntitiesPacket(other.entityIds))
+            }
+            is ClientboundAddEntityPacket -> removeIndex = -1
         }
+        append(other)
+    }
+    private fun append(other: ClientPacket) {
+        if (count == array.size) array = array.copyOf(count shl 1)
+        array[count++] = other
+    }
+    override fun retain() {
+        refCnt.incrementAndGet()
+    }
+    override fun release() {
+        if (refCnt.decrementAndGet() != 0) return
+        array.fill(null, 0, count)
+        count = 0
+        removeIndex = -1
+        refCnt.set(1)
+        SIMPLE_POOL.recycle(this)
     }
 }
 
-internal class ParallelBundler(
-    private val threshold: Int
-) : PacketBundler {
-    private val _creator: () -> PluginBundlePacketImpl = if (threshold < 32) { { lazyBundlerOf() } } else { { bundlerOf() } }
-    private val subBundlers = mutableListOf<PluginBundlePacketImpl>()
+internal class ParallelBundler : PacketBundler {
+    var threshold = 0
+    private val subBundlers = ArrayList<SimpleBundler>()
     private var sizeAssume = 0
-    private val newBundler get() = _creator().apply {
+    private var selectedBundler = newBundler()
+    private fun newBundler() = bundlerOf(0).apply {
         sizeAssume = 0
         subBundlers += this
     }
-    private var selectedBundler = newBundler
     override fun send(player: Player, onSuccess: Runnable) {
         if (isEmpty) return
-        val connection = (player as CraftPlayer).handle.connection
         subBundlers.forEach {
-            connection.send(it.bundlePacket)
+            player.deliver(it, null)
         }
     }
+    override fun send(players: Collection<Player>) {
+        if (isEmpty) return
+        players.fanOut(subBundlers) { send(it) }
+    }
     override fun isEmpty(): Boolean = selectedBundler.isEmpty()
-    override fun size(): Int = subBundlers.sumOf(PluginBundlePacketImpl::size)
+    override fun size(): Int = subBundlers.sumOf(SimpleBundler::size)
     fun add(other: ClientPacket) {
-        (if (sizeAssume > threshold) newBundler else selectedBundler)
+        (if (sizeAssume > threshold) newBundler() else selectedBundler)
             .apply { selectedBundler = this }
             .add(other)
         sizeAssume += other.assumeSize()
     }
-}
\ No newline at end of file
+    override fun release() {
+        subBundlers.forEach(SimpleBundler::release)
+        subBundlers.clear()
+        selectedBundler = newBundler()
+        PARALLEL_POOL.recycle(this)
+    }
+}
@@ -93,6 +93,7 @@ internal class HitBoxImpl(
     private val applier = InsideBlockEffectApplier.StepBasedCollector()
 
     init {
+        HITBOX_IDS.add(id)
         moveTo(delegate.position())
         isInvisible = true
         persist = false
@@ -314,6 +315,7 @@ internal class HitBoxImpl(
     ).mul(movementSpeed()).rotateY(-Math.toRadians(player.yRot.toDouble()).toFloat())
 
     override fun remove(reason: RemovalReason, cause: EntityRemoveEvent.Cause?) {
+        HITBOX_IDS.remove(id)
         initialSetup()
         listener.remove(craftEntity)
         interaction.remove(reason)
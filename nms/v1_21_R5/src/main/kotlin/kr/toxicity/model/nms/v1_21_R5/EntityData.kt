@@ -53,9 +53,9 @@ internal class TransformationData {
 
     private var _duration = 0
     private val duration get() = SynchedEntityData.DataValue(DISPLAY_INTERPOLATION_DURATION.id, DISPLAY_INTERPOLATION_DURATION.serializer, _duration)
-    private val translation = Item(Vector3f(), DISPLAY_TRANSLATION, MathUtil::isSimilar)
-    private val scale = Item(Vector3f(), DISPLAY_SCALE, MathUtil::isSimilar)
-    private val rotation = Item(Quaternionf(), DISPLAY_ROTATION, MathUtil::isSimilar)
+    private val translation = Item(Vector3f(), DISPLAY_TRANSLATION, MathUtil::isSimilar) { Vector3f(it) }
+    private val scale = Item(Vector3f(), DISPLAY_SCALE, MathUtil::isSimilar) { Vector3f(it) }
+    private val rotation = Item(Quaternionf(), DISPLAY_ROTATION, MathUtil::isSimilar) { Quaternionf(it) }
 
     fun packDirty(): List<SynchedEntityData.DataValue<*>>? {
         val i = translation.cleanIndex + scale.cleanIndex + rotation.cleanIndex
@@ -92,7 +92,8 @@ internal class TransformationData {
     private class Item<T : Any>(
         initialValue: T,
         private val accessor: EntityDataAccessor<T>,
-        private val dirtyChecker: (T, T) -> Boolean
+        private val dirtyChecker: (T, T) -> Boolean,
+        private val copier: (T) -> T
     ) {
         private var _t: T = initialValue
         private var _dirty = false
@@ -108,7 +109,7 @@ internal class TransformationData {
         fun set(vector3f: T) {
             if (dirtyChecker(_t, vector3f)) return
             _dirty = true
-            _t = vector3f
+            _t = copier(vector3f)
         }
     }
 }
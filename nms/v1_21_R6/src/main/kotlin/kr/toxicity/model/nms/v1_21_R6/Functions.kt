@@ -13,6 +13,7 @@ import it.unimi.dsi.fastutil.ints.IntOpenHashSet
 import kr.toxicity.model.api.BetterModel
 import kr.toxicity.model.api.tracker.EntityTrackerRegistry
 import kr.toxicity.model.api.util.EventUtil
+import kr.toxicity.model.api.util.StripedIntSet
 import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer
 import net.minecraft.network.FriendlyByteBuf
 import net.minecraft.network.protocol.game.ClientboundAddEntityPacket
@@ -54,6 +55,7 @@ internal inline fun <reified T, reified R> createAdaptedFieldGetter(): (T) -> R
 }
 
 internal val CONFIG get() = BetterModel.config()
+internal val HITBOX_IDS = StripedIntSet()
 internal val EMPTY_ITEM = VanillaItemStack.EMPTY
 internal fun BukkitItemStack.asVanilla() = CraftItemStack.asNMSCopy(this)
 internal fun VanillaItemStack.asBukkit() = CraftItemStack.asCraftMirror(this)